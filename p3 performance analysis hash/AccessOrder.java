@@ -0,0 +1,60 @@
+/**
+ * AccessOrder class used as a doubly linked list of cache entries in
+ * access order, least recently used first, linked through the entries
+ * themselves so the eviction policies can move an entry without a lookup
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     CacheEntry.java, LruPolicy.java, TinyLfuPolicy.java
+ */
+class AccessOrder<K, V> {
+    private CacheEntry<K, V> first;
+    private CacheEntry<K, V> last;
+    //sum of the weights of the entries in the list
+    long weight;
+
+    CacheEntry<K, V> peekFirst() {
+        return first;
+    }
+
+    void addLast(CacheEntry<K, V> entry) {
+        entry.prev = last;
+        entry.next = null;
+        if(last == null) {
+            first = entry;
+        } else {
+            last.next = entry;
+        }
+        last = entry;
+        weight += entry.weight;
+    }
+
+    void remove(CacheEntry<K, V> entry) {
+        if(entry.prev == null) {
+            first = entry.next;
+        } else {
+            entry.prev.next = entry.next;
+        }
+        if(entry.next == null) {
+            last = entry.prev;
+        } else {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        weight -= entry.weight;
+    }
+
+    void moveToLast(CacheEntry<K, V> entry) {
+        if(entry != last) {
+            remove(entry);
+            addLast(entry);
+        }
+    }
+
+    void clear() {
+        first = null;
+        last = null;
+        weight = 0;
+    }
+}
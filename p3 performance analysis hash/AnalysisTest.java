@@ -1,8 +1,81 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
 public class AnalysisTest {
     public static void main(String[] args)  {
 
-                // TODO Add code for checking command line arguments
+                if(args.length < 1) {
+                    System.out.println("Usage: java AnalysisTest <details file> [concurrent <max threads> | offheap | batch | scan | set | hashing | indexed | snapshot | workload [spec] | cache [spec] | registry [results.csv|results.json]]");
+                    System.out.println("       java AnalysisTest baseline <baseline file> <current file> [threshold]");
+                    return;
+                }
+                if(args[0].equals("baseline")) {
+                    //exits with 1 when a result dropped more than threshold (default 10%) below the baseline
+                    double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 0.1;
+                    try {
+                        int regressions = ResultReport.compare(ResultReport.read(Paths.get(args[1])),
+                                ResultReport.read(Paths.get(args[2])), threshold);
+                        System.exit(regressions > 0 ? 1 : 0);
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                        System.exit(2);
+                    }
+                }
                 PerformanceAnalysisHash ana = new PerformanceAnalysisHash(args[0]);
+                if(args.length > 1 && args[1].equals("concurrent")) {
+                    int maxThreads = Runtime.getRuntime().availableProcessors();
+                    if(args.length > 2) {
+                        maxThreads = Integer.parseInt(args[2]);
+                    }
+                    ana.compareConcurrentThroughput(maxThreads);
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("batch")) {
+                    ana.compareBatchOperations();
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("scan")) {
+                    ana.compareScans();
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("set")) {
+                    ana.compareSets();
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("hashing")) {
+                    ana.compareHashStrategies();
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("indexed")) {
+                    ana.compareIndexed();
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("workload")) {
+                    ana.compareWorkload(Workload.parse(args.length > 2 ? args[2] : ""));
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("cache")) {
+                    //reads only, zipfian, unless the spec says otherwise
+                    String spec = "read=1,write=0,delete=0,miss=0,dist=zipfian";
+                    ana.compareCaches(Workload.parse(args.length > 2 ? spec + "," + args[2] : spec));
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("registry")) {
+                    String out = args.length > 2 ? args[2] : "results.csv";
+                    try {
+                        ResultReport.write(ana.compareRegistered(TableRegistry.defaults()), Paths.get(out));
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("snapshot")) {
+                    ana.compareStartup();
+                    return;
+                }
+                if(args.length > 1 && args[1].equals("offheap")) {
+                    ana.setOffHeapStrings(true);
+                }
                 ana.compareDataStructures();
                 ana.printReport();
             }
@@ -0,0 +1,43 @@
+/**
+ * BenchmarkResult class used to hold one measurement of one operation
+ * on one structure and data file, as written to and read from result
+ * files by ResultReport
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     ResultReport.java, PerformanceAnalysisHash.java
+ */
+public class BenchmarkResult {
+    //data file the keys came from
+    final String file;
+    //name the structure is registered under
+    final String structure;
+    //PUT, SEARCH or DELETE
+    final String operation;
+    //number of operations timed
+    final long operations;
+    final double opsPerSec;
+    //average time of one operation in nanoseconds
+    final double nsPerOp;
+    //heap used by the structure divided by its number of entries when full
+    final double bytesPerEntry;
+
+    public BenchmarkResult(String file, String structure, String operation, long operations,
+            double opsPerSec, double nsPerOp, double bytesPerEntry) {
+        this.file = file;
+        this.structure = structure;
+        this.operation = operation;
+        this.operations = operations;
+        this.opsPerSec = opsPerSec;
+        this.nsPerOp = nsPerOp;
+        this.bytesPerEntry = bytesPerEntry;
+    }
+
+    /**
+     * returns: the file, structure and operation, which identify a result
+     *          when two result files are compared
+     */
+    String key() {
+        return file + "|" + structure + "|" + operation;
+    }
+}
@@ -0,0 +1,285 @@
+/**
+ * BoundedCache class used as a memoization cache with a fixed maximum
+ * size. Entries live in a HashTable and each entry is also linked into
+ * the access order lists of an EvictionPolicy, which picks the entries
+ * to evict whenever the total weight of the cache goes over its maximum.
+ * By default every entry weighs 1, so the maximum is a number of
+ * entries. Hits, misses and evictions are counted, and an optional
+ * listener is told about each evicted entry
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, LruPolicy.java, TinyLfuPolicy.java
+ */
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.BiConsumer;
+
+public class BoundedCache<K, V> implements HashTableADT<K, V> {
+    /**
+     * computes the weight of an entry
+     */
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    /**
+     * told about every entry the cache evicts
+     */
+    public interface EvictionListener<K, V> {
+        void onEviction(K key, V value);
+    }
+
+    //entries of the cache by key
+    private HashTable<K, CacheEntry<K, V>> table;
+    //picks the entries to evict
+    private EvictionPolicy<K, V> policy;
+    private Weigher<K, V> weigher;
+    //null if no one listens for evictions
+    private EvictionListener<K, V> listener;
+    //most total weight the cache holds
+    private long maximumWeight;
+    //total weight of the entries in the cache
+    private long weightedSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * constructor for a cache of at most maximumSize entries
+     * param: maximumSize, policy
+     */
+    public BoundedCache(long maximumSize, EvictionPolicy<K, V> policy) {
+        this(maximumSize, (key, value) -> 1, policy, null);
+    }
+
+    /**
+     * constructor for a cache limited by the total weight of its entries
+     * param: maximumWeight, weigher, policy, listener -> may be null
+     */
+    public BoundedCache(long maximumWeight, Weigher<K, V> weigher, EvictionPolicy<K, V> policy,
+            EvictionListener<K, V> listener) {
+        if(maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+        this.listener = listener;
+        policy.setMaximum(maximumWeight);
+        table = new HashTable<K, CacheEntry<K, V>>((int) Math.min(maximumWeight, 1 << 16) * 4 / 3 + 1, 0.75);
+    }
+
+    /**
+     * returns: a cache of at most maximumSize entries that evicts the least recently used
+     */
+    public static <K, V> BoundedCache<K, V> lru(long maximumSize) {
+        return new BoundedCache<K, V>(maximumSize, new LruPolicy<K, V>());
+    }
+
+    /**
+     * returns: a cache of at most maximumSize entries with W-TinyLFU eviction
+     */
+    public static <K, V> BoundedCache<K, V> tinyLfu(long maximumSize) {
+        return new BoundedCache<K, V>(maximumSize, new TinyLfuPolicy<K, V>());
+    }
+
+    /**
+     * adds or replaces the entry for key, then evicts entries until the
+     * cache fits its maximum again. An entry heavier than the maximum is
+     * evicted right away on its own: any entry already cached for key is
+     * removed and the other entries stay cached
+     * param: key, value
+     * returns: value
+     */
+    @Override
+    public V put(K key, V value) {
+        if(key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int weight = weigher.weigh(key, value);
+        if(weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+        if(weight > maximumWeight) {
+            //evicting other entries could never make room for it
+            remove(key);
+            evictions++;
+            if(listener != null) {
+                listener.onEviction(key, value);
+            }
+            return value;
+        }
+        CacheEntry<K, V> entry = table.getOrDefault(key, null);
+        if(entry != null && entry.weight == weight) {
+            //same weight, so the entry keeps its place and counts as used
+            entry.value = value;
+            policy.onAccess(entry);
+            return value;
+        }
+        if(entry != null) {
+            policy.onRemove(entry);
+            weightedSize -= entry.weight;
+            entry.value = value;
+            entry.weight = weight;
+        } else {
+            entry = new CacheEntry<K, V>(key, value, weight);
+            table.put(key, entry);
+        }
+        policy.onInsert(entry);
+        weightedSize += weight;
+        evict();
+        return value;
+    }
+
+    /**
+     * gets the value cached for key
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key is not cached
+     */
+    @Override
+    public V get(K key) {
+        CacheEntry<K, V> entry = table.getOrDefault(key, null);
+        if(entry == null) {
+            misses++;
+            throw new NoSuchElementException();
+        }
+        hits++;
+        policy.onAccess(entry);
+        return entry.value;
+    }
+
+    /**
+     * gets the value cached for key, or defaultValue if key is not cached
+     * params: key, defaultValue
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        CacheEntry<K, V> entry = table.getOrDefault(key, null);
+        if(entry == null) {
+            misses++;
+            return defaultValue;
+        }
+        hits++;
+        policy.onAccess(entry);
+        return entry.value;
+    }
+
+    /**
+     * gets the value cached for key, computing and caching it with loader
+     * if it is not cached
+     * params: key, loader -> may return null, which is not cached
+     * returns: value associated with key
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = getOrDefault(key, null);
+        if(value == null) {
+            value = loader.apply(key);
+            if(value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * removes the entry for key without telling the eviction listener
+     * params: key
+     * returns: value of key that was removed, null if key was not cached
+     */
+    @Override
+    public V remove(K key) {
+        CacheEntry<K, V> entry = table.remove(key);
+        if(entry == null) {
+            return null;
+        }
+        policy.onRemove(entry);
+        weightedSize -= entry.weight;
+        return entry.value;
+    }
+
+    /**
+     * removes every entry, keeping the statistics
+     */
+    @Override
+    public void clear() {
+        table.clear();
+        policy.clear();
+        weightedSize = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    /**
+     * passes every cached entry to action without counting it as a use
+     * param: action
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        table.forEach((key, entry) -> action.accept(key, entry.value));
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * returns: share of lookups that found their key, 0 if there were none
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * sets the hit, miss and eviction counts back to zero
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * evicts the entries the policy picks until the cache fits
+     */
+    private void evict() {
+        while(weightedSize > maximumWeight) {
+            CacheEntry<K, V> victim = policy.victim();
+            if(victim == null) {
+                break;
+            }
+            table.remove(victim.key);
+            weightedSize -= victim.weight;
+            evictions++;
+            if(listener != null) {
+                listener.onEviction(victim.key, victim.value);
+            }
+        }
+    }
+}
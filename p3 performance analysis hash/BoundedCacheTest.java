@@ -0,0 +1,187 @@
+/**
+ * BoundedCacheTest class used to check the eviction behaviour of
+ * BoundedCache: the order LRU evicts in, W-TinyLFU keeping popular
+ * entries through a scan, the statistics and eviction listener, and
+ * entries heavier than the maximum. Each check throws an AssertionError
+ * when it fails, so the run exits with an error
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     BoundedCache.java, LruPolicy.java, TinyLfuPolicy.java
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class BoundedCacheTest {
+    public static void main(String[] args) {
+        lruEvictsLeastRecentlyUsed();
+        tinyLfuKeepsPopularEntriesThroughScan();
+        statisticsAndListener();
+        heavierThanMaximumIsEvictedAlone(new LruPolicy<String, Integer>());
+        heavierThanMaximumIsEvictedAlone(new TinyLfuPolicy<String, Integer>());
+        heavierReplacementRemovesOldEntry(new LruPolicy<String, Integer>());
+        heavierReplacementRemovesOldEntry(new TinyLfuPolicy<String, Integer>());
+        System.out.println("BoundedCacheTest: all checks passed");
+    }
+
+    /**
+     * LRU evicts in insertion order until a read moves an entry to the
+     * most recently used end
+     */
+    private static void lruEvictsLeastRecentlyUsed() {
+        List<String> evicted = new ArrayList<String>();
+        BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>(3, (key, value) -> 1,
+                new LruPolicy<String, Integer>(), (key, value) -> evicted.add(key));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.put("d", 4);
+        check(evicted.equals(Arrays.asList("a")), "evicted " + evicted);
+        cache.get("b");
+        cache.put("e", 5);
+        check(evicted.equals(Arrays.asList("a", "c")), "get did not move b, evicted " + evicted);
+        //replacing a value counts as a use too
+        cache.put("d", 40);
+        cache.put("f", 6);
+        check(evicted.equals(Arrays.asList("a", "c", "b")), "evicted " + evicted);
+        cache.put("g", 7);
+        cache.put("h", 8);
+        check(evicted.equals(Arrays.asList("a", "c", "b", "e", "d")), "evicted " + evicted);
+        check(keys(cache).equals(Arrays.asList("f", "g", "h")), "cached " + keys(cache));
+    }
+
+    /**
+     * a scan of keys read once must not push out keys read many times.
+     * W-TinyLFU rejects the scan keys at admission, while LRU under the
+     * same load loses every popular key
+     */
+    private static void tinyLfuKeepsPopularEntriesThroughScan() {
+        List<String> evicted = new ArrayList<String>();
+        BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>(100, (key, value) -> 1,
+                new TinyLfuPolicy<String, Integer>(), (key, value) -> evicted.add(key));
+        BoundedCache<String, Integer> lru = new BoundedCache<String, Integer>(100, (key, value) -> 1,
+                new LruPolicy<String, Integer>(), null);
+        for(int i = 0; i < 10; i++) {
+            cache.put("hot" + i, i);
+            lru.put("hot" + i, i);
+        }
+        for(int round = 0; round < 5; round++) {
+            for(int i = 0; i < 10; i++) {
+                cache.get("hot" + i);
+                lru.get("hot" + i);
+            }
+        }
+        for(int i = 0; i < 1000; i++) {
+            cache.put("scan" + i, i);
+            lru.put("scan" + i, i);
+        }
+        check(cache.size() == 100, "size after scan " + cache.size());
+        check(cache.getEvictions() == 910, "evictions " + cache.getEvictions());
+        check(evicted.size() == 910, "listener was told about " + evicted.size() + " evictions");
+        for(String key : evicted) {
+            check(key.startsWith("scan"), "popular key " + key + " was evicted");
+        }
+        List<String> cached = keys(cache);
+        for(int i = 0; i < 10; i++) {
+            check(cached.contains("hot" + i), "hot" + i + " was evicted");
+        }
+        check(cache.getHits() == 50 && cache.getMisses() == 0,
+                "hits " + cache.getHits() + " misses " + cache.getMisses());
+        List<String> lruCached = keys(lru);
+        for(int i = 0; i < 10; i++) {
+            check(!lruCached.contains("hot" + i), "LRU kept hot" + i + " through the scan");
+        }
+    }
+
+    /**
+     * hits, misses and evictions are counted for ordinary lookups and
+     * evictions, and the listener gets each evicted key with its value
+     */
+    private static void statisticsAndListener() {
+        List<String> evicted = new ArrayList<String>();
+        BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>(2, (key, value) -> 1,
+                new LruPolicy<String, Integer>(), (key, value) -> evicted.add(key + "=" + value));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        check(cache.get("a") == 1, "value of a");
+        check(cache.getOrDefault("x", -1) == -1, "default for x");
+        try {
+            cache.get("y");
+            check(false, "get of a missing key returned");
+        } catch(NoSuchElementException e) {
+        }
+        cache.put("c", 3);
+        check(evicted.equals(Arrays.asList("b=2")), "evicted " + evicted);
+        check(cache.computeIfAbsent("b", key -> 20) == 20, "loaded value of b");
+        check(evicted.equals(Arrays.asList("b=2", "a=1")), "evicted " + evicted);
+        check(cache.computeIfAbsent("c", key -> 30) == 3, "cached value of c");
+        //removing an entry is not an eviction
+        check(cache.remove("c") == 3, "removed value of c");
+        check(evicted.size() == 2, "remove told the listener " + evicted);
+        check(cache.getHits() == 2, "hits " + cache.getHits());
+        check(cache.getMisses() == 3, "misses " + cache.getMisses());
+        check(cache.getEvictions() == 2, "evictions " + cache.getEvictions());
+        check(cache.hitRate() == 0.4, "hit rate " + cache.hitRate());
+        cache.resetStats();
+        check(cache.getHits() == 0 && cache.getMisses() == 0 && cache.getEvictions() == 0, "stats after reset");
+        check(keys(cache).equals(Arrays.asList("b")), "cached " + keys(cache));
+    }
+
+    /**
+     * an entry heavier than the maximum must not push out the entries
+     * already cached
+     */
+    private static void heavierThanMaximumIsEvictedAlone(EvictionPolicy<String, Integer> policy) {
+        List<String> evicted = new ArrayList<String>();
+        BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>(10, (key, value) -> value, policy,
+                (key, value) -> evicted.add(key));
+        for(int i = 0; i < 10; i++) {
+            cache.put("a" + i, 1);
+        }
+        cache.put("heavy", 11);
+        check(cache.size() == 10, "size after heavy put " + cache.size());
+        check(cache.getWeightedSize() == 10, "weighted size after heavy put " + cache.getWeightedSize());
+        check(cache.getOrDefault("heavy", null) == null, "heavy entry is cached");
+        for(int i = 0; i < 10; i++) {
+            check(cache.getOrDefault("a" + i, null) != null, "a" + i + " was evicted");
+        }
+        check(evicted.size() == 1 && evicted.get(0).equals("heavy"), "evicted " + evicted);
+        check(cache.getEvictions() == 1, "evictions " + cache.getEvictions());
+    }
+
+    /**
+     * replacing an entry with a value heavier than the maximum drops the
+     * old value too
+     */
+    private static void heavierReplacementRemovesOldEntry(EvictionPolicy<String, Integer> policy) {
+        List<String> evicted = new ArrayList<String>();
+        BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>(10, (key, value) -> value, policy,
+                (key, value) -> evicted.add(key + "=" + value));
+        cache.put("a", 3);
+        cache.put("b", 3);
+        cache.put("a", 20);
+        check(cache.size() == 1, "size after heavy replacement " + cache.size());
+        check(cache.getWeightedSize() == 3, "weighted size after heavy replacement " + cache.getWeightedSize());
+        check(cache.getOrDefault("a", null) == null, "old value of a is still cached");
+        check(cache.getOrDefault("b", null) != null, "b was evicted");
+        check(evicted.size() == 1 && evicted.get(0).equals("a=20"), "evicted " + evicted);
+    }
+
+    /**
+     * returns: the cached keys sorted, read without counting as uses
+     */
+    private static List<String> keys(BoundedCache<String, Integer> cache) {
+        List<String> keys = new ArrayList<String>();
+        cache.forEach((key, value) -> keys.add(key));
+        keys.sort(null);
+        return keys;
+    }
+
+    private static void check(boolean condition, String message) {
+        if(!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
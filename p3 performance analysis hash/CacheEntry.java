@@ -0,0 +1,47 @@
+/**
+ * CacheEntry class used to hold one entry of a BoundedCache. The entry is
+ * the value stored in the cache's HashTable and is also a node of the
+ * eviction policy's access order lists, so moving an entry within a list
+ * needs no lookup and no allocation
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     BoundedCache.java, EvictionPolicy.java
+ */
+public final class CacheEntry<K, V> {
+    //regions of TinyLfuPolicy, LruPolicy only uses WINDOW
+    static final byte WINDOW = 0;
+    static final byte PROBATION = 1;
+    static final byte PROTECTED = 2;
+
+    final K key;
+    //hash code of key, used by the frequency sketch
+    final int hash;
+    V value;
+    //weight the entry counts for against the cache's maximum
+    int weight;
+    //neighbours in the access order list the entry is in
+    CacheEntry<K, V> prev;
+    CacheEntry<K, V> next;
+    //region of the policy the entry is in
+    byte region;
+
+    CacheEntry(K key, V value, int weight) {
+        this.key = key;
+        this.hash = key.hashCode();
+        this.value = value;
+        this.weight = weight;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,478 @@
+/**
+ * ConcurrentHashTable class used to construct a hash table that can be
+ * shared between threads without an outside lock. Empty buckets are
+ * filled with a compare-and-set, other writes lock only the first node
+ * of their bucket, and reads take no locks at all. When the table grows
+ * every thread that runs into a moved bucket helps move the rest.
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, PerformanceAnalysisHash.java
+ */
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+public class ConcurrentHashTable<K, V> implements HashTableADT<K, V> {
+    //largest table that can be allocated (power of two)
+    private static final int MAX_CAPACITY = 1 << 30;
+    //fewest buckets a thread claims at once while resizing
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    //hash stored in forwarding nodes, real hashes are never negative
+    private static final int MOVED = -1;
+    //array of buckets, length is always a power of two
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    //array being filled during a resize, otherwise null
+    private volatile AtomicReferenceArray<Node<K, V>> nextTable;
+    //buckets of table below this index have not been claimed by a resizing thread
+    private final AtomicInteger transferIndex = new AtomicInteger();
+    //positive: size at which to resize, negative: -(1 + threads moving buckets)
+    private final AtomicInteger sizeCtl;
+    //for determining when to resize array
+    private final double loadFactor;
+    //number of elements in hash table
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * constructor sets initial capacity and load factor
+     * Param: initialCapacity, loadFactor
+     */
+    public ConcurrentHashTable(int initialCapacity, double loadFactor) {
+        if(loadFactor <= 0) {
+            throw new IllegalArgumentException("loadFactor must be positive");
+        }
+        this.loadFactor = loadFactor;
+        int capacity = tableSizeFor(initialCapacity);
+        table = new AtomicReferenceArray<Node<K, V>>(capacity);
+        sizeCtl = new AtomicInteger(thresholdFor(capacity));
+    }
+
+    /**
+     * used to insert elements into hash table, replacing the value of
+     * an existing key
+     * param: key, value (neither may be null)
+     * returns: value associated with key
+     */
+    @Override
+    public V put(K key, V value) {
+        if(key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if(first == null) {
+                if(tab.compareAndSet(index, null, new Node<K, V>(hash, key, value, null))) {
+                    break;
+                }
+            } else if(first.hash == MOVED) {
+                tab = helpTransfer(((ForwardingNode<K, V>) first).nextTable);
+            } else {
+                boolean locked = false;
+                boolean added = false;
+                synchronized(first) {
+                    if(tab.get(index) == first) {
+                        locked = true;
+                        Node<K, V> curr = first;
+                        while(true) {
+                            if(curr.hash == hash && curr.key.equals(key)) {
+                                curr.value = value;
+                                break;
+                            }
+                            if(curr.next == null) {
+                                curr.next = new Node<K, V>(hash, key, value, null);
+                                added = true;
+                                break;
+                            }
+                            curr = curr.next;
+                        }
+                    }
+                }
+                if(locked) {
+                    if(!added) {
+                        return value;
+                    }
+                    break;
+                }
+            }
+        }
+        addCount();
+        return value;
+    }
+
+    /**
+     * gets the value associated with key without taking any locks
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    @Override
+    public V get(K key) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true) {
+            Node<K, V> curr = tab.get(hash & (tab.length() - 1));
+            if(curr != null && curr.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) curr).nextTable;
+                continue;
+            }
+            while(curr != null) {
+                if(curr.hash == hash && curr.key.equals(key)) {
+                    return curr.value;
+                }
+                curr = curr.next;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * gets the value associated with key without taking any locks, or
+     * defaultValue if key has no mapping
+     * params: key, defaultValue
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true) {
+            Node<K, V> curr = tab.get(hash & (tab.length() - 1));
+            if(curr != null && curr.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) curr).nextTable;
+                continue;
+            }
+            while(curr != null) {
+                if(curr.hash == hash && curr.key.equals(key)) {
+                    return curr.value;
+                }
+                curr = curr.next;
+            }
+            return defaultValue;
+        }
+    }
+
+    /**
+     * removes node associated with key
+     * params: key
+     * returns: value of key that was removed, null if key had no mapping
+     */
+    @Override
+    public V remove(K key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while(true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if(first == null) {
+                return null;
+            }
+            if(first.hash == MOVED) {
+                tab = helpTransfer(((ForwardingNode<K, V>) first).nextTable);
+                continue;
+            }
+            V removed = null;
+            boolean locked = false;
+            synchronized(first) {
+                if(tab.get(index) == first) {
+                    locked = true;
+                    Node<K, V> prev = null;
+                    Node<K, V> curr = first;
+                    while(curr != null) {
+                        if(curr.hash == hash && curr.key.equals(key)) {
+                            removed = curr.value;
+                            //readers already on curr can still follow curr.next
+                            if(prev == null) {
+                                tab.set(index, curr.next);
+                            } else {
+                                prev.next = curr.next;
+                            }
+                            break;
+                        }
+                        prev = curr;
+                        curr = curr.next;
+                    }
+                }
+            }
+            if(locked) {
+                if(removed != null) {
+                    count.decrement();
+                }
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * clears the hash table one bucket at a time
+     */
+    @Override
+    public void clear() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int index = 0;
+        while(index < tab.length()) {
+            Node<K, V> first = tab.get(index);
+            if(first == null) {
+                index++;
+            } else if(first.hash == MOVED) {
+                tab = helpTransfer(((ForwardingNode<K, V>) first).nextTable);
+                index = 0;
+            } else {
+                synchronized(first) {
+                    if(tab.get(index) == first) {
+                        long removed = 0;
+                        for(Node<K, V> curr = first; curr != null; curr = curr.next) {
+                            removed++;
+                        }
+                        tab.set(index, null);
+                        count.add(-removed);
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * checks to see if hash table is empty
+     * returns: true if is empty otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    /**
+     * passes every entry to action without taking any locks. Entries
+     * added or removed while forEach runs may or may not be seen
+     * param: action
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for(int i = 0; i < tab.length(); i++) {
+            forEachInBucket(tab, i, action);
+        }
+    }
+
+    /**
+     * passes the entries of one bucket to action. A moved bucket was split
+     * into the same index and index + old length of the next array
+     */
+    private void forEachInBucket(AtomicReferenceArray<Node<K, V>> tab, int index,
+            BiConsumer<? super K, ? super V> action) {
+        Node<K, V> curr = tab.get(index);
+        if(curr != null && curr.hash == MOVED) {
+            AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) curr).nextTable;
+            forEachInBucket(next, index, action);
+            forEachInBucket(next, index + tab.length(), action);
+            return;
+        }
+        for(; curr != null; curr = curr.next) {
+            action.accept(curr.key, curr.value);
+        }
+    }
+
+    /**
+     * returns: number of elements, which may be out of date while other
+     *          threads are writing
+     */
+    @Override
+    public int size() {
+        long n = count.sum();
+        if(n < 0) {
+            return 0;
+        }
+        return n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    /**
+     * counts a new element and starts or joins a resize once the table
+     * passes its load factor
+     */
+    private void addCount() {
+        count.increment();
+        int sc;
+        while(count.sum() >= (sc = sizeCtl.get())) {
+            if(sc < 0) {
+                helpTransfer(nextTable);
+                return;
+            }
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            if(tab.length() >= MAX_CAPACITY) {
+                return;
+            }
+            if(sizeCtl.compareAndSet(sc, -2)) {
+                tab = table;
+                AtomicReferenceArray<Node<K, V>> next =
+                        new AtomicReferenceArray<Node<K, V>>(tab.length() << 1);
+                transferIndex.set(tab.length());
+                nextTable = next;
+                transfer(tab, next);
+            }
+        }
+    }
+
+    /**
+     * joins a running resize if there are buckets left to move
+     * param: next -> the array being filled, as seen by the caller
+     * returns: array the caller should retry its operation in
+     */
+    private AtomicReferenceArray<Node<K, V>> helpTransfer(AtomicReferenceArray<Node<K, V>> next) {
+        int sc;
+        while((sc = sizeCtl.get()) < -1 && transferIndex.get() > 0) {
+            if(sizeCtl.compareAndSet(sc, sc - 1)) {
+                //while counted in sizeCtl the resize can not finish, so these reads match
+                AtomicReferenceArray<Node<K, V>> joined = nextTable;
+                if(joined == null) {
+                    leaveTransfer(null);
+                } else {
+                    transfer(table, joined);
+                }
+                break;
+            }
+        }
+        return next == null ? table : next;
+    }
+
+    /**
+     * claims ranges of buckets from the top of tab and moves them into
+     * next until no ranges are left
+     */
+    private void transfer(AtomicReferenceArray<Node<K, V>> tab,
+            AtomicReferenceArray<Node<K, V>> next) {
+        int n = tab.length();
+        int stride = Math.max(n / (4 * Runtime.getRuntime().availableProcessors()),
+                MIN_TRANSFER_STRIDE);
+        ForwardingNode<K, V> forward = new ForwardingNode<K, V>(next);
+        while(true) {
+            int hi = transferIndex.get();
+            if(hi <= 0) {
+                break;
+            }
+            int lo = Math.max(hi - stride, 0);
+            if(transferIndex.compareAndSet(hi, lo)) {
+                for(int i = hi - 1; i >= lo; i--) {
+                    moveBucket(tab, next, i, forward);
+                }
+            }
+        }
+        leaveTransfer(next);
+    }
+
+    /**
+     * copies bucket index of tab into buckets index and index + n of next,
+     * then marks it as moved. The old chain is left untouched so readers
+     * already walking it still see a consistent list
+     */
+    private void moveBucket(AtomicReferenceArray<Node<K, V>> tab,
+            AtomicReferenceArray<Node<K, V>> next, int index, ForwardingNode<K, V> forward) {
+        int n = tab.length();
+        while(true) {
+            Node<K, V> first = tab.get(index);
+            if(first == null) {
+                if(tab.compareAndSet(index, null, forward)) {
+                    return;
+                }
+            } else if(first.hash == MOVED) {
+                return;
+            } else {
+                synchronized(first) {
+                    if(tab.get(index) == first) {
+                        Node<K, V> low = null;
+                        Node<K, V> high = null;
+                        for(Node<K, V> curr = first; curr != null; curr = curr.next) {
+                            if((curr.hash & n) == 0) {
+                                low = new Node<K, V>(curr.hash, curr.key, curr.value, low);
+                            } else {
+                                high = new Node<K, V>(curr.hash, curr.key, curr.value, high);
+                            }
+                        }
+                        next.set(index, low);
+                        next.set(index + n, high);
+                        tab.set(index, forward);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * stops counting this thread as a resizer. The last thread out installs
+     * the new array
+     */
+    private void leaveTransfer(AtomicReferenceArray<Node<K, V>> next) {
+        while(true) {
+            int sc = sizeCtl.get();
+            if(sizeCtl.compareAndSet(sc, sc + 1)) {
+                if(sc + 1 == -1) {
+                    table = next;
+                    nextTable = null;
+                    sizeCtl.set(thresholdFor(next.length()));
+                }
+                return;
+            }
+        }
+    }
+
+    private int thresholdFor(int capacity) {
+        if(capacity >= MAX_CAPACITY) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max((int) (capacity * loadFactor), 1);
+    }
+
+    /**
+     * mixes the high bits of the hash code into the low bits used to pick
+     * a bucket, and clears the sign bit
+     */
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & 0x7fffffff;
+    }
+
+    /**
+     * returns: smallest power of two that is at least capacity
+     */
+    private static int tableSizeFor(int capacity) {
+        if(capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1, 2);
+    }
+
+    /**
+     * node class for constructing the concurrent hash table
+     */
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * placed in a bucket of the old array once it has been moved
+     */
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * DataFile class used to load a benchmark data file once, in its final
+ * form. The file is memory mapped and split into lines at the byte
+ * level while every line is parsed as an integer on the way. If all the
+ * lines are integers the file is kept as an int[], otherwise each line
+ * becomes a String (stored one byte per character by the JVM when the
+ * text is Latin-1). Empty lines are skipped and a trailing carriage
+ * return is removed from each line. Files larger than what one mapping
+ * can hold are mapped in chunks
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     PerformanceAnalysisHash.java
+ */
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class DataFile {
+    //largest number of bytes mapped at once
+    private static final int CHUNK_SIZE = 1 << 30;
+    //lines of an integer file, null for a text file
+    private int[] ints;
+    //lines of a text file, null for an integer file
+    private String[] strings;
+
+    private DataFile(int[] ints, String[] strings) {
+        this.ints = ints;
+        this.strings = strings;
+    }
+
+    /**
+     * reads and parses file
+     * param: file
+     * returns: the file's lines as integers if every line is an integer,
+     *          otherwise as strings
+     */
+    public static DataFile load(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((length + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+            for(int c = 0; c < chunks.length; c++) {
+                long base = (long) c * CHUNK_SIZE;
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(CHUNK_SIZE, length - base));
+            }
+            return parse(chunks);
+        }
+    }
+
+    /**
+     * returns: true if the file holds integers
+     */
+    public boolean isInteger() {
+        return ints != null;
+    }
+
+    /**
+     * returns: number of lines in the file
+     */
+    public int size() {
+        return ints != null ? ints.length : strings.length;
+    }
+
+    /**
+     * returns: the lines of an integer file
+     * throws IllegalStateException if the file is not an integer file
+     */
+    public int[] ints() {
+        if(ints == null) {
+            throw new IllegalStateException("not an integer file");
+        }
+        return ints;
+    }
+
+    /**
+     * returns: the lines of a text file
+     * throws IllegalStateException if the file is an integer file
+     */
+    public String[] strings() {
+        if(strings == null) {
+            throw new IllegalStateException("not a text file");
+        }
+        return strings;
+    }
+
+    /**
+     * returns: every line as an Integer or a String, ready to be used as a
+     *          key without any further conversion
+     */
+    public Object[] keys() {
+        if(strings != null) {
+            return Arrays.copyOf(strings, strings.length, Object[].class);
+        }
+        Object[] keys = new Object[ints.length];
+        for(int i = 0; i < ints.length; i++) {
+            keys[i] = ints[i];
+        }
+        return keys;
+    }
+
+    /**
+     * splits the mapped chunks into lines in one pass. The value of each
+     * line is parsed as it is read, and the position and length of each
+     * line are kept so a text file can be turned into strings afterwards
+     * without searching for the line breaks again
+     */
+    private static DataFile parse(MappedByteBuffer[] chunks) {
+        int[] values = new int[1024];
+        long[] starts = new long[1024];
+        int[] lengths = new int[1024];
+        int lines = 0;
+        boolean allIntegers = true;
+
+        long lineStart = 0;
+        //state of the integer being parsed from the current line
+        long value = 0;
+        int digits = 0;
+        boolean negative = false;
+        boolean valid = true;
+        boolean carriageReturn = false;
+        for(int c = 0; c < chunks.length; c++) {
+            MappedByteBuffer chunk = chunks[c];
+            long base = (long) c * CHUNK_SIZE;
+            int limit = chunk.limit();
+            for(int i = 0; i < limit; i++) {
+                byte b = chunk.get(i);
+                if(b != '\n') {
+                    if(carriageReturn) {
+                        valid = false;
+                    }
+                    if(b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        digits++;
+                        if(value > (long) Integer.MAX_VALUE + 1) {
+                            valid = false;
+                            value = 0;
+                        }
+                    } else if(b == '\r') {
+                        //only allowed as the last character of the line
+                    } else if(b == '-' && base + i == lineStart) {
+                        negative = true;
+                    } else if(!(b == '+' && base + i == lineStart)) {
+                        valid = false;
+                    }
+                    carriageReturn = b == '\r';
+                    //the last line of a file may have no line break
+                    if(c < chunks.length - 1 || i < limit - 1) {
+                        continue;
+                    }
+                }
+                long lineEnd = b == '\n' ? base + i : base + i + 1;
+                int length = (int) (lineEnd - lineStart) - (carriageReturn ? 1 : 0);
+                if(length > 0) {
+                    if(lines == starts.length) {
+                        values = Arrays.copyOf(values, lines * 2);
+                        starts = Arrays.copyOf(starts, lines * 2);
+                        lengths = Arrays.copyOf(lengths, lines * 2);
+                    }
+                    long signed = negative ? -value : value;
+                    boolean isInt = valid && digits > 0 && signed >= Integer.MIN_VALUE
+                            && signed <= Integer.MAX_VALUE;
+                    allIntegers &= isInt;
+                    values[lines] = (int) signed;
+                    starts[lines] = lineStart;
+                    lengths[lines] = length;
+                    lines++;
+                }
+                lineStart = base + i + 1;
+                value = 0;
+                digits = 0;
+                negative = false;
+                valid = true;
+                carriageReturn = false;
+            }
+        }
+        if(allIntegers && lines > 0) {
+            return new DataFile(Arrays.copyOf(values, lines), null);
+        }
+        String[] strings = new String[lines];
+        byte[] bytes = new byte[64];
+        for(int l = 0; l < lines; l++) {
+            if(lengths[l] > bytes.length) {
+                bytes = new byte[Math.max(lengths[l], bytes.length * 2)];
+            }
+            copy(chunks, starts[l], bytes, lengths[l]);
+            strings[l] = new String(bytes, 0, lengths[l], StandardCharsets.UTF_8);
+        }
+        return new DataFile(null, strings);
+    }
+
+    /**
+     * copies length bytes starting at position of the file into bytes,
+     * crossing from one chunk into the next if needed
+     */
+    private static void copy(MappedByteBuffer[] chunks, long position, byte[] bytes, int length) {
+        int copied = 0;
+        while(copied < length) {
+            MappedByteBuffer chunk = chunks[(int) (position / CHUNK_SIZE)];
+            int offset = (int) (position % CHUNK_SIZE);
+            int n = Math.min(length - copied, chunk.limit() - offset);
+            chunk.get(offset, bytes, copied, n);
+            copied += n;
+            position += n;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * EvictionPolicy interface used by BoundedCache to decide which entry to
+ * drop when the cache is over its maximum weight. The cache tells the
+ * policy about every entry added, read and removed, and asks it for a
+ * victim until the cache fits again
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     BoundedCache.java, LruPolicy.java, TinyLfuPolicy.java
+ */
+public interface EvictionPolicy<K, V> {
+    /**
+     * called once by the cache before any entry is added
+     * @param maximumWeight: The most weight the cache holds
+     */
+    void setMaximum(long maximumWeight);
+
+    /**
+     * @param entry: An entry just added to the cache
+     */
+    void onInsert(CacheEntry<K, V> entry);
+
+    /**
+     * @param entry: An entry just read from the cache
+     */
+    void onAccess(CacheEntry<K, V> entry);
+
+    /**
+     * @param entry: An entry removed from the cache other than by eviction
+     */
+    void onRemove(CacheEntry<K, V> entry);
+
+    /**
+     * Picks the next entry to evict and stops tracking it
+     * @return the entry to evict, null if the policy tracks no entries
+     */
+    CacheEntry<K, V> victim();
+
+    /**
+     * Forgets every entry
+     */
+    void clear();
+}
@@ -0,0 +1,104 @@
+/**
+ * FrequencySketch class used by TinyLfuPolicy to estimate how often each
+ * key was used recently. It is a count-min sketch of 4 bit counters, 16
+ * to a long, with four counters per key. The estimate of a key is the
+ * smallest of its counters, so collisions can only make it too high.
+ * After a number of increments proportional to the cache size every
+ * counter is halved, so keys that were popular a long time ago fade
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     TinyLfuPolicy.java
+ */
+public class FrequencySketch {
+    //multipliers that pick a different counter for each of the four rows
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+            0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    //clears the bit that would move between counters when halving
+    private static final long RESET_MASK = 0x7777777777777777L;
+    //sixteen 4 bit counters per long
+    private long[] table;
+    //number of counters - 1
+    private int counterMask;
+    //increments between two halvings
+    private int sampleSize;
+    //increments since the last halving
+    private int additions;
+
+    /**
+     * param: maximumSize -> number of entries of the cache the sketch serves
+     */
+    public FrequencySketch(long maximumSize) {
+        //one long (16 counters) per entry, rounded up to a power of two
+        int size = (int) Math.min(Math.max(maximumSize, 1), 1 << 24);
+        int longs = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        table = new long[longs];
+        counterMask = longs * 16 - 1;
+        sampleSize = (int) Math.min(10L * Math.max(maximumSize, 1), Integer.MAX_VALUE);
+    }
+
+    /**
+     * returns: estimated number of recent uses of the key with this hash code, 0 to 15
+     */
+    public int frequency(int hash) {
+        int spread = spread(hash);
+        int frequency = 15;
+        for(int row = 0; row < 4; row++) {
+            int counter = indexOf(spread, row);
+            int count = (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * counts one use of the key with this hash code
+     */
+    public void increment(int hash) {
+        int spread = spread(hash);
+        boolean added = false;
+        for(int row = 0; row < 4; row++) {
+            added |= incrementAt(indexOf(spread, row));
+        }
+        if(added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * adds one to a counter unless it is already at its maximum of 15
+     * returns: true if the counter changed
+     */
+    private boolean incrementAt(int counter) {
+        int word = counter >>> 4;
+        int shift = (counter & 15) << 2;
+        long mask = 0xfL << shift;
+        if((table[word] & mask) == mask) {
+            return false;
+        }
+        table[word] += 1L << shift;
+        return true;
+    }
+
+    /**
+     * halves every counter
+     */
+    private void reset() {
+        for(int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int spread, int row) {
+        long h = (spread + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & counterMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * GroupProbe interface used by SwissHashTable to compare a whole group of
+ * 16 or 32 control bytes with SIMD instructions. The only implementation,
+ * vector/VectorGroupProbe.java, uses the incubating jdk.incubator.vector
+ * module, so it is compiled only by "make VECTOR=1" and is looked up by
+ * name at run time. Without it SwissHashTable compares eight control
+ * bytes at a time in a long
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     SwissHashTable.java, vector/VectorGroupProbe.java
+ */
+interface GroupProbe {
+    /**
+     * @return The number of control bytes compared at once
+     */
+    int width();
+
+    /**
+     * @param ctrl: The control bytes, readable for width() bytes from pos
+     * @param pos: The first control byte of the group
+     * @param tag: The 7 bit tag looked for
+     * @return A mask with bit i set if control byte pos + i equals tag
+     */
+    long matchTag(byte[] ctrl, int pos, byte tag);
+
+    /**
+     * @return A mask with bit i set if control byte pos + i is EMPTY
+     */
+    long matchEmpty(byte[] ctrl, int pos);
+
+    /**
+     * @return A mask with bit i set if control byte pos + i is EMPTY or DELETED
+     */
+    long matchFree(byte[] ctrl, int pos);
+
+    /**
+     * @return The vector probe, or null if it was not compiled in or the
+     *          jdk.incubator.vector module was not added at run time
+     */
+    static GroupProbe load() {
+        try {
+            return (GroupProbe) Class.forName("VectorGroupProbe").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/**
+ * HashBenchmark class used to measure put, get and remove of HashTable
+ * against TreeMap the way JMH does: every combination of benchmark
+ * parameters runs in freshly forked JVMs, warmup iterations are thrown
+ * away, keys are parsed before timing starts, and allocation and garbage
+ * collection are recorded for each measured iteration. Results are
+ * written as CSV so runs can be compared over time
+ *
+ * Usage: java HashBenchmark [options] [data files...]
+ *   --details file      add every data file listed in a details file (read from ./data/)
+ *   --impl list         structures to measure (HashTable,TreeMap), or IndexedHashTable
+ *   --benchmark list    operations to measure (put,get,remove)
+ *   --keyType list      int and/or string; int is skipped for files that are not all integers
+ *   --capacity list     initial capacities (100)
+ *   --loadFactor list   load factors (0.75)
+ *   --warmup n          warmup iterations per fork (5)
+ *   --iterations n      measured iterations per fork (10)
+ *   --forks n           JVMs started per parameter combination (2)
+ *   --out file          CSV file the results are written to (bench_results.csv)
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, PerformanceAnalysisHash.java
+ */
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.TreeMap;
+
+public class HashBenchmark {
+    //header of the CSV file
+    private static final String CSV_HEADER = "timestamp,benchmark,impl,file,keyType,capacity,loadFactor,"
+            + "fork,iteration,operations,opsPerSec,nsPerOp,allocBytesPerOp,gcCount,gcTimeMs";
+    //results of the operations are folded in here so the JIT can not drop them
+    private static volatile int sink;
+
+    private List<String> files = new ArrayList<String>();
+    private List<String> impls = Arrays.asList("HashTable", "TreeMap");
+    private List<String> benchmarks = Arrays.asList("put", "get", "remove");
+    private List<String> keyTypes = Arrays.asList("int", "string");
+    private List<String> capacities = Arrays.asList("100");
+    private List<String> loadFactors = Arrays.asList("0.75");
+    private int warmup = 5;
+    private int iterations = 10;
+    private int forks = 2;
+    private String out = "bench_results.csv";
+
+    public static void main(String[] args) throws Exception {
+        if(args.length > 0 && args[0].equals("--child")) {
+            runChild(args);
+            return;
+        }
+        HashBenchmark bench = new HashBenchmark();
+        bench.parseArguments(args);
+        bench.runForks();
+    }
+
+    /**
+     * reads the command line options described in the class comment
+     */
+    private void parseArguments(String[] args) throws IOException {
+        for(int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if(!arg.startsWith("--")) {
+                files.add(arg);
+                continue;
+            }
+            if(i + 1 == args.length) {
+                throw new IllegalArgumentException("missing value for " + arg);
+            }
+            String value = args[++i];
+            switch(arg) {
+                case "--details":
+                    files.addAll(readDetails(value));
+                    break;
+                case "--impl":
+                    impls = Arrays.asList(value.split(","));
+                    break;
+                case "--benchmark":
+                    benchmarks = Arrays.asList(value.split(","));
+                    break;
+                case "--keyType":
+                    keyTypes = Arrays.asList(value.split(","));
+                    break;
+                case "--capacity":
+                    capacities = Arrays.asList(value.split(","));
+                    break;
+                case "--loadFactor":
+                    loadFactors = Arrays.asList(value.split(","));
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+                case "--forks":
+                    forks = Integer.parseInt(value);
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + arg);
+            }
+        }
+        if(files.isEmpty()) {
+            throw new IllegalArgumentException("no data files given");
+        }
+    }
+
+    /**
+     * returns: paths of the data files listed in a details file, which has
+     *          a header line and then one file name per line before a comma
+     */
+    private static List<String> readDetails(String detailsFile) throws IOException {
+        List<String> names = new ArrayList<String>();
+        try(Scanner sc = new Scanner(new File(detailsFile))) {
+            sc.nextLine();
+            while(sc.hasNextLine()) {
+                String line = sc.nextLine().trim();
+                if(!line.isEmpty()) {
+                    names.add("./data/" + line.split(",")[0]);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * starts a child JVM for every fork of every parameter combination and
+     * collects the CSV rows it prints
+     */
+    private void runForks() throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path");
+        String timestamp = Instant.now().toString();
+        boolean newFile = !new File(out).exists();
+        try(PrintWriter csv = new PrintWriter(new FileWriter(out, true))) {
+            if(newFile) {
+                csv.println(CSV_HEADER);
+            }
+            for(String file : files) {
+                boolean integerFile = isIntegerFile(file);
+                for(String keyType : keyTypes) {
+                    if(keyType.equals("int") && !integerFile) {
+                        continue;
+                    }
+                    for(String impl : impls) {
+                        for(String benchmark : benchmarks) {
+                            for(String capacity : capacities) {
+                                for(String loadFactor : loadFactors) {
+                                    List<Double> scores = new ArrayList<Double>();
+                                    for(int fork = 1; fork <= forks; fork++) {
+                                        ProcessBuilder pb = new ProcessBuilder(java, "-cp", classpath,
+                                                "HashBenchmark", "--child", benchmark, impl, file, keyType,
+                                                capacity, loadFactor, String.valueOf(fork),
+                                                String.valueOf(warmup), String.valueOf(iterations));
+                                        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+                                        Process child = pb.start();
+                                        try(BufferedReader br = new BufferedReader(
+                                                new InputStreamReader(child.getInputStream()))) {
+                                            String row;
+                                            while((row = br.readLine()) != null) {
+                                                csv.println(timestamp + "," + row);
+                                                scores.add(Double.parseDouble(row.split(",")[9]));
+                                            }
+                                        }
+                                        if(child.waitFor() != 0) {
+                                            throw new IllegalStateException("fork failed: " + benchmark
+                                                    + " " + impl + " " + file);
+                                        }
+                                    }
+                                    printSummary(benchmark, impl, file, keyType, capacity, loadFactor, scores);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * prints mean and standard deviation of ops/sec over all measured
+     * iterations of one parameter combination
+     */
+    private static void printSummary(String benchmark, String impl, String file, String keyType,
+            String capacity, String loadFactor, List<Double> scores) {
+        double mean = 0;
+        for(double score : scores) {
+            mean += score;
+        }
+        mean /= scores.size();
+        double variance = 0;
+        for(double score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        double stddev = scores.size() > 1 ? Math.sqrt(variance / (scores.size() - 1)) : 0;
+        System.out.printf("%-7s %-10s %-28s %-6s cap=%-8s lf=%-5s %14.0f ops/s +- %.0f%n",
+                benchmark, impl, new File(file).getName(), keyType, capacity, loadFactor, mean, stddev);
+    }
+
+    /**
+     * body of a forked JVM: runs warmup and measured iterations of one
+     * parameter combination and prints one CSV row per measured iteration
+     */
+    private static void runChild(String[] args) throws IOException {
+        String benchmark = args[1];
+        String impl = args[2];
+        String file = args[3];
+        String keyType = args[4];
+        int capacity = Integer.parseInt(args[5]);
+        double loadFactor = Double.parseDouble(args[6]);
+        int fork = Integer.parseInt(args[7]);
+        int warmup = Integer.parseInt(args[8]);
+        int iterations = Integer.parseInt(args[9]);
+
+        //setup: read and convert every key before anything is timed
+        DataFile data = DataFile.load(Paths.get(file));
+        Object[] keys = data.keys();
+        if(keyType.equals("string") && data.isInteger()) {
+            for(int i = 0; i < keys.length; i++) {
+                keys[i] = String.valueOf(keys[i]);
+            }
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for(int iteration = -warmup + 1; iteration <= iterations; iteration++) {
+            HashTableADT<Object, Object> table = newTable(impl, capacity, loadFactor);
+            if(!benchmark.equals("put")) {
+                fill(table, keys);
+            }
+            System.gc();
+            long gcCount = gcCount();
+            long gcTime = gcTime();
+            long allocated = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            switch(benchmark) {
+                case "put":
+                    fill(table, keys);
+                    break;
+                case "get":
+                    int h = 0;
+                    for(Object key : keys) {
+                        h += table.get(key).hashCode();
+                    }
+                    sink = h;
+                    break;
+                case "remove":
+                    int r = 0;
+                    for(Object key : keys) {
+                        Object value = table.remove(key);
+                        r += value == null ? 0 : 1;
+                    }
+                    sink = r;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown benchmark " + benchmark);
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+            if(iteration <= 0) {
+                continue;
+            }
+            double opsPerSec = keys.length / (elapsed / 1e9);
+            System.out.println(benchmark + "," + impl + "," + file + "," + keyType + "," + capacity + ","
+                    + loadFactor + "," + fork + "," + iteration + "," + keys.length + ","
+                    + String.format(Locale.ROOT, "%.1f", opsPerSec) + ","
+                    + String.format(Locale.ROOT, "%.2f", (double) elapsed / keys.length) + ","
+                    + String.format(Locale.ROOT, "%.2f", (double) allocated / keys.length) + ","
+                    + (gcCount() - gcCount) + "," + (gcTime() - gcTime));
+        }
+    }
+
+    /**
+     * returns: a new, empty structure of the named implementation
+     */
+    private static HashTableADT<Object, Object> newTable(String impl, int capacity, double loadFactor) {
+        switch(impl) {
+            case "HashTable":
+                return new HashTable<Object, Object>(capacity, loadFactor);
+            case "IndexedHashTable":
+                return new IndexedHashTable<Object, Object>(capacity, loadFactor);
+            case "TreeMap":
+                return new MapAdapter<Object, Object>(new TreeMap<Object, Object>());
+            default:
+                throw new IllegalArgumentException("unknown impl " + impl);
+        }
+    }
+
+    private static void fill(HashTableADT<Object, Object> table, Object[] keys) {
+        for(Object key : keys) {
+            table.put(key, key);
+        }
+    }
+
+    /**
+     * returns: true if every line of the file is an integer
+     */
+    private static boolean isIntegerFile(String file) throws IOException {
+        return DataFile.load(Paths.get(file)).isInteger();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * HashNode class used as the node of a HashTable chain, and as the entry
+ * returned by its spliterator and stream. Each node keeps its key's hash
+ * code, so lookups only call equals on keys whose hash matches
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, TreeBin.java
+ */
+import java.util.Map;
+import java.util.Objects;
+
+class HashNode<K, V> implements Map.Entry<K, V> {
+    int hash;
+    K key;
+    V value;
+    HashNode<K, V> next;
+
+    public HashNode(K key, V value) {
+        this(key.hashCode(), key, value);
+    }
+
+    public HashNode(int hash, K key, V value) {
+        this.hash = hash;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+        V old = this.value;
+        this.value = value;
+        return old;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof Map.Entry)) {
+            return false;
+        }
+        Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+        return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
+}
@@ -0,0 +1,51 @@
+import java.util.function.Consumer;
+
+/**
+ * Interface for a set of keys, the key-only counterpart of HashTableADT
+ * for callers that only need to know whether a key is present
+ */
+public interface HashSetADT<K> {
+    /**
+     * @param key: The key that goes into the set
+     * @return true if the key was added, false if it was already present
+     * @throws NullPointerException if key is null
+     */
+    boolean add(K key) throws NullPointerException;
+
+    /**
+     * @param key: The key to look for
+     * @return true if the key is in the set
+     */
+    boolean contains(K key);
+
+    /**
+     * @param key: The key to be removed
+     * @return true if the key was in the set
+     * @throws NullPointerException if key is null
+     */
+    boolean remove(K key) throws NullPointerException;
+
+    /**
+     * Clear the set of all its contents
+     */
+    void clear();
+
+    /**
+     * Checks if the set is empty
+     * @return true : if Empty, else False
+     */
+    boolean isEmpty();
+
+    /**
+     * @return: The total number of keys in the set
+     */
+    int size();
+
+    /**
+     * Passes every key to action, in no particular order. The set must
+     * not be changed until forEach returns
+     *
+     * @param action: Called with each key
+     */
+    void forEach(Consumer<? super K> action);
+}
@@ -0,0 +1,247 @@
+/**
+ * HashStrategy interface used by HashTable to turn a key's hash code into
+ * a bucket index. A strategy may also require a particular shape of
+ * array, such as a power of two, which HashTable asks for through
+ * capacityFor and keeps when it doubles the array. The built-in
+ * strategies are numbered so a HashTableSnapshot can record which one
+ * (and which seed) its buckets were laid out with
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, HashTableSnapshot.java
+ */
+import java.security.SecureRandom;
+
+public interface HashStrategy {
+    //ids of the built-in strategies, written to snapshots
+    int IDENTITY_MODULO = 0;
+    int FIBONACCI = 1;
+    int MURMUR3 = 2;
+    int SEEDED = 3;
+    //id of a strategy that can not be saved in a snapshot
+    int CUSTOM = -1;
+
+    /**
+     * @param hash: The key's hash code
+     * @param capacity: Number of buckets, as returned by capacityFor
+     * @return the bucket index, from 0 to capacity - 1
+     */
+    int indexFor(int hash, int capacity);
+
+    /**
+     * @param requested: The capacity asked for
+     * @return the capacity to use instead, for strategies that only
+     *         work with some array lengths
+     */
+    default int capacityFor(int requested) {
+        return Math.max(1, requested);
+    }
+
+    /**
+     * @return one of the built-in ids, or CUSTOM
+     */
+    default int id() {
+        return CUSTOM;
+    }
+
+    /**
+     * @return the seed mixed into every hash code, 0 if there is none
+     */
+    default int seed() {
+        return 0;
+    }
+
+    /**
+     * @return name printed in analysis results
+     */
+    String name();
+
+    /**
+     * @return Math.abs(hash % capacity), the original bucket selection
+     */
+    static HashStrategy identityModulo() {
+        return IdentityModulo.INSTANCE;
+    }
+
+    /**
+     * @return multiplication by 2^32 / golden ratio, keeping the high bits
+     *         of the product, with a power of two array
+     */
+    static HashStrategy fibonacci() {
+        return Fibonacci.INSTANCE;
+    }
+
+    /**
+     * @return the murmur3 finalizer, masked to a power of two array
+     */
+    static HashStrategy murmur3() {
+        return Murmur3.INSTANCE;
+    }
+
+    /**
+     * @return murmur3 mixing of the hash code xor a random seed picked for
+     *         this strategy, so bucket collisions can not be planned ahead
+     */
+    static HashStrategy seeded() {
+        return new Seeded(Seeded.RANDOM.nextInt());
+    }
+
+    /**
+     * @return murmur3 mixing of the hash code xor seed
+     */
+    static HashStrategy seeded(int seed) {
+        return new Seeded(seed);
+    }
+
+    /**
+     * @return the built-in strategy with the given id, for reloading a snapshot
+     * @throws IllegalArgumentException if id is not a built-in strategy
+     */
+    static HashStrategy forId(int id, int seed) {
+        switch(id) {
+            case IDENTITY_MODULO:
+                return identityModulo();
+            case FIBONACCI:
+                return fibonacci();
+            case MURMUR3:
+                return murmur3();
+            case SEEDED:
+                return seeded(seed);
+            default:
+                throw new IllegalArgumentException("unknown hash strategy " + id);
+        }
+    }
+
+    /**
+     * @return the smallest power of two no less than requested, at least 2
+     */
+    static int powerOfTwoFor(int requested) {
+        if(requested <= 2) {
+            return 2;
+        }
+        if(requested > 1 << 30) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit(requested - 1) << 1;
+    }
+
+    /**
+     * @return the murmur3 32 bit finalizer of h
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    final class IdentityModulo implements HashStrategy {
+        static final IdentityModulo INSTANCE = new IdentityModulo();
+
+        @Override
+        public int indexFor(int hash, int capacity) {
+            return Math.abs(hash % capacity);
+        }
+
+        @Override
+        public int id() {
+            return IDENTITY_MODULO;
+        }
+
+        @Override
+        public String name() {
+            return "MODULO";
+        }
+    }
+
+    final class Fibonacci implements HashStrategy {
+        static final Fibonacci INSTANCE = new Fibonacci();
+
+        @Override
+        public int indexFor(int hash, int capacity) {
+            //capacity is a power of two of at least 2, so the shift is 1 to 31
+            return (hash * 0x9e3779b9) >>> Integer.numberOfLeadingZeros(capacity) + 1;
+        }
+
+        @Override
+        public int capacityFor(int requested) {
+            return powerOfTwoFor(requested);
+        }
+
+        @Override
+        public int id() {
+            return FIBONACCI;
+        }
+
+        @Override
+        public String name() {
+            return "FIBONACCI";
+        }
+    }
+
+    final class Murmur3 implements HashStrategy {
+        static final Murmur3 INSTANCE = new Murmur3();
+
+        @Override
+        public int indexFor(int hash, int capacity) {
+            return mix(hash) & (capacity - 1);
+        }
+
+        @Override
+        public int capacityFor(int requested) {
+            return powerOfTwoFor(requested);
+        }
+
+        @Override
+        public int id() {
+            return MURMUR3;
+        }
+
+        @Override
+        public String name() {
+            return "MURMUR3";
+        }
+    }
+
+    /**
+     * the seed changes which keys share a bucket, but keys whose hash
+     * codes are equal still collide, since the seed is applied to the
+     * hash code rather than to the key
+     */
+    final class Seeded implements HashStrategy {
+        //source of the seeds of seeded()
+        static final SecureRandom RANDOM = new SecureRandom();
+        private final int seed;
+
+        Seeded(int seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public int indexFor(int hash, int capacity) {
+            return mix(hash ^ seed) & (capacity - 1);
+        }
+
+        @Override
+        public int capacityFor(int requested) {
+            return powerOfTwoFor(requested);
+        }
+
+        @Override
+        public int id() {
+            return SEEDED;
+        }
+
+        @Override
+        public int seed() {
+            return seed;
+        }
+
+        @Override
+        public String name() {
+            return "SEEDED";
+        }
+    }
+}
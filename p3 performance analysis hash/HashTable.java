@@ -1,5 +1,5 @@
 /**
- * HashTable class used to construct a hash table that 
+ * HashTable class used to construct a hash table that
  * uses a linked node data structure
  * Due: 3/19/2018
  * Bugs: none known
@@ -7,31 +7,83 @@
  * @author       Chris Sullivan (csullivan9@wisc.edu)
  * @see also     PerformanceAnalysisHash.java, results.txt
  */
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.management.JMException;
 
 public class HashTable<K, V> implements HashTableADT<K, V> {
+    //number of nodes (or empty buckets) moved per operation while resizing incrementally
+    private static final int MIGRATION_WORK = 8;
+    //chain length at which a bucket is turned into a balanced tree
+    static final int TREEIFY_THRESHOLD = 8;
+    //tree size at which a bucket is turned back into a chain
+    static final int UNTREEIFY_THRESHOLD = 6;
+    //smallest array whose buckets are turned into trees
+    static final int MIN_TREEIFY_CAPACITY = 64;
     //array to hold nodes
     private HashNode<K, V>[] bucket;
+    //array being drained into bucket during an incremental resize, otherwise null
+    private HashNode<K, V>[] oldBucket;
+    //next index of oldBucket that still has to be moved
+    private int migrateIndex;
     //size of array
     private int currCapacity;
     //for determining when to resize array
-    private double loadFactor; 
+    private double loadFactor;
+    //number of elements allowed before the array is resized
+    private int threshold;
+    //true if resizing is spread across operations instead of done in one pass
+    private boolean incrementalResize;
     //number of elements in hash table
     private int size;
-    
+    //statistics collected for this table, null unless enableStats was called
+    private HashTableStats stats;
+    //turns hash codes into bucket indexes
+    private HashStrategy strategy;
+
     /**
      * constructor sets initial capacity and load factor
      * Param: initialCapacity, loadFactor
      */
     public HashTable(int initialCapacity, double loadFactor) {
-        this.currCapacity = initialCapacity;
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     * constructor sets initial capacity, load factor and resize mode
+     * Param: initialCapacity, loadFactor, incrementalResize -> if true the
+     *        old array is kept alongside the new one after a resize and a
+     *        bounded number of nodes is moved on each put, get and remove
+     */
+    public HashTable(int initialCapacity, double loadFactor, boolean incrementalResize) {
+        this(initialCapacity, loadFactor, incrementalResize, HashStrategy.identityModulo());
+    }
+
+    /**
+     * constructor sets initial capacity, load factor, resize mode and the
+     * strategy that picks each key's bucket
+     * Param: initialCapacity -> rounded to a capacity strategy accepts,
+     *        loadFactor, incrementalResize, strategy
+     */
+    public HashTable(int initialCapacity, double loadFactor, boolean incrementalResize, HashStrategy strategy) {
+        this.strategy = strategy;
+        this.currCapacity = strategy.capacityFor(initialCapacity);
         this.loadFactor = loadFactor;
-        bucket = new HashNode[initialCapacity];
+        this.incrementalResize = incrementalResize;
+        bucket = new HashNode[currCapacity];
+        threshold = (int) (currCapacity * loadFactor);
         size = 0;
     }
-    
+
     /**
-     * used to insert elements into hash table
+     * used to insert elements into hash table, replacing the value of
+     * an existing key
      * param: key, value
      * returns: value associated with key
      */
@@ -40,119 +92,748 @@ public class HashTable<K, V> implements HashTableADT<K, V> {
         if(key == null) {
             throw new NullPointerException();
         }
-        //if hash table does not need to be resized
-        if(size != currCapacity * loadFactor) {
-            int index = Math.abs(key.hashCode() % currCapacity);
-            HashNode<K, V> node = new HashNode(key, value);
-            if(bucket[index] == null) {
-                bucket[index] = node;
-            } else {
-                node.next = bucket[index];
-                bucket[index] = node;
-            }
-            size++;
-        } else {
-            //increase size of hash table and rehash
-            currCapacity = currCapacity * 2;
-            HashNode<K, V>[] temp = new HashNode[currCapacity];
-            for(int i = 0; i < bucket.length; i++) {
-                if(bucket[i] != null) {
-                    HashNode tempNode = bucket[i];
-                    while(tempNode != null) {
-                        HashNode insert = new HashNode(tempNode.key, tempNode.value);
-                        insert.next = null;
-                        int rehash = Math.abs(tempNode.key.hashCode() % currCapacity);
-                        HashNode currNode = temp[rehash];
-                        if(currNode == null) {
-                            temp[rehash] = insert;
-                        } else {
-                            while(currNode.next != null) {
-                                currNode = currNode.next;
-                            }
-                            currNode.next = insert;
-                        }
-                        tempNode = tempNode.next;
-                    }
-                }
-            }
-            bucket = temp;
-            put(key, value);
+        migrate();
+        int hash = key.hashCode();
+        HashNode<K, V> existing = findNode(hash, key);
+        if(existing != null) {
+            existing.value = value;
+            return value;
         }
+        //increase size of hash table before it passes the load factor
+        if(size >= threshold) {
+            resize();
+        }
+        linkNode(bucket, strategy.indexFor(hash, currCapacity), new HashNode<K, V>(hash, key, value));
+        size++;
         return value;
     }
-    
+
     /**
      * clears the hash table
      */
     @Override
     public void clear() {
-        bucket = null;
+        bucket = new HashNode[currCapacity];
+        oldBucket = null;
+        migrateIndex = 0;
+        size = 0;
     }
-    
+
     /**
      * gets the value associated with key
-     * params: key -> converted into hash index 
+     * params: key -> converted into hash index
      * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
      */
     @Override
     public V get(K key) {
-        HashNode<K, V> curr = bucket[Math.abs(key.hashCode() % currCapacity)];
-        int random = key.hashCode() % currCapacity;
-        while(!curr.key.equals(key)) {
-            if(curr.next != null) {
-                curr = curr.next;
+        migrate();
+        HashNode<K, V> curr = findNode(key.hashCode(), key);
+        if(curr == null) {
+            if(stats != null) {
+                stats.miss();
             }
+            throw new NoSuchElementException();
+        }
+        if(stats != null) {
+            stats.hit();
         }
         return curr.value;
     }
-    
+
+    /**
+     * gets the value associated with key, or defaultValue if key has no mapping
+     * params: key, defaultValue
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        migrate();
+        HashNode<K, V> curr = findNode(key.hashCode(), key);
+        if(curr == null) {
+            if(stats != null) {
+                stats.miss();
+            }
+            return defaultValue;
+        }
+        if(stats != null) {
+            stats.hit();
+        }
+        return curr.value;
+    }
+
     /**
      * checks to see if hash table is empty
      * returns: true if is empty otherwise false
      */
     @Override
     public boolean isEmpty() {
-        if(bucket.length == 0)
-            return true;
-        return false;
+        return size == 0;
     }
-    
+
     /**
      * removes node associated with key
      * params: key that is to be converted into hash table index
-     * returns: value of key that was removed
+     * returns: value of key that was removed, null if key had no mapping
      */
     @Override
     public V remove(K key) {
-        HashNode<K, V> curr = bucket[Math.abs(key.hashCode() % currCapacity)];
-        while(!curr.key.equals(key)) {
-            if(curr.next != null) {
-                curr = curr.next;
-            }
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        migrate();
+        int hash = key.hashCode();
+        HashNode<K, V> removed = unlink(bucket, hash, key);
+        if(removed == null && oldBucket != null) {
+            removed = unlink(oldBucket, hash, key);
+        }
+        if(removed == null) {
+            return null;
         }
         size--;
-        return curr.value;
+        if(stats != null) {
+            stats.removed();
+        }
+        return removed.value;
     }
 
     @Override
     public int size() {
         return size;
     }
+
+    /**
+     * passes every entry to action, walking the chains and tree buckets
+     * in place so no iterator or entry objects are created. During an
+     * incremental resize the entries not yet moved are read from the old
+     * array
+     * param: action
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEachIn(bucket, action);
+        if(oldBucket != null) {
+            //buckets before migrateIndex have already been emptied
+            forEachIn(oldBucket, action);
+        }
+    }
+
+    /**
+     * returns: a cursor over the table's entries, positioned before the first one
+     */
+    public Cursor cursor() {
+        Cursor cursor = new Cursor();
+        cursor.reset();
+        return cursor;
+    }
+
+    /**
+     * returns: a spliterator over the table's entries that splits by
+     *          ranges of buckets. The entries are the table's own nodes,
+     *          so setValue writes through to the table
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        HashNode<K, V>[] table = buckets();
+        return new BucketSpliterator<K, V>(table, 0, table.length, size);
+    }
+
+    /**
+     * returns: a stream of the table's entries, parallel if parallel is true
+     */
+    public Stream<Map.Entry<K, V>> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    private static <K, V> void forEachIn(HashNode<K, V>[] table, BiConsumer<? super K, ? super V> action) {
+        for(int i = 0; i < table.length; i++) {
+            HashNode<K, V> curr = table[i];
+            if(curr instanceof TreeBin) {
+                curr = ((TreeBin<K, V>) curr).first;
+            }
+            for(; curr != null; curr = curr.next) {
+                action.accept(curr.key, curr.value);
+            }
+        }
+    }
+
+    /**
+     * reusable cursor that walks the bucket array and its chains without
+     * allocating. The table must not be changed while a cursor is in use,
+     * other than through setValue
+     */
+    public class Cursor {
+        //bucket array being walked
+        private HashNode<K, V>[] table;
+        //index of the next bucket to visit
+        private int index;
+        //node the cursor is on, null before the first call to next
+        private HashNode<K, V> current;
+
+        /**
+         * moves the cursor back before the first entry, finishing any
+         * incremental resize first so every entry is in one array
+         */
+        public void reset() {
+            table = buckets();
+            index = 0;
+            current = null;
+        }
+
+        /**
+         * moves to the next entry
+         * returns: false if there are no more entries
+         */
+        public boolean next() {
+            HashNode<K, V> node = current == null ? null : current.next;
+            while(node == null && index < table.length) {
+                node = table[index++];
+                if(node instanceof TreeBin) {
+                    node = ((TreeBin<K, V>) node).first;
+                }
+            }
+            current = node;
+            return node != null;
+        }
+
+        public K key() {
+            return entry().key;
+        }
+
+        public V value() {
+            return entry().value;
+        }
+
+        /**
+         * replaces the value of the current entry
+         */
+        public void setValue(V value) {
+            entry().value = value;
+        }
+
+        /**
+         * returns: index of the bucket the current entry is in. Entries are
+         *          visited bucket by bucket, so HashTableSnapshot can write
+         *          them out in the table's own layout
+         */
+        int bucketIndex() {
+            entry();
+            return index - 1;
+        }
+
+        /**
+         * returns: hash code of the key of the current entry
+         */
+        int hash() {
+            return entry().hash;
+        }
+
+        private HashNode<K, V> entry() {
+            if(current == null) {
+                throw new NoSuchElementException();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * inserts a batch of entries. The array is resized at most once for
+     * the whole batch and the keys are then inserted bucket by bucket
+     * param: keys, values -> parallel arrays of the same length
+     */
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        if(keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        int[] hashes = hashAll(keys);
+        while(oldBucket != null) {
+            migrate();
+        }
+        //presize so that no resize happens in the middle of the batch
+        long needed = (long) size + keys.length;
+        int newCapacity = currCapacity;
+        while((long) (newCapacity * loadFactor) < needed && newCapacity <= Integer.MAX_VALUE / 2) {
+            newCapacity = newCapacity * 2;
+        }
+        if(newCapacity != currCapacity) {
+            resize(newCapacity);
+            while(oldBucket != null) {
+                moveNodes(Integer.MAX_VALUE);
+            }
+        }
+        long[] order = bucketOrder(hashes, currCapacity);
+        for(int j = 0; j < order.length; j++) {
+            int i = (int) order[j];
+            int index = (int) (order[j] >>> 32);
+            HashNode<K, V> existing = findInBucket(bucket[index], hashes[i], keys[i]);
+            if(existing != null) {
+                existing.value = values[i];
+            } else {
+                linkNode(bucket, index, new HashNode<K, V>(hashes[i], keys[i], values[i]));
+                size++;
+            }
+        }
+    }
+
+    /**
+     * looks up a batch of keys in order. Unlike putAll the keys are not
+     * sorted by bucket, since the sort costs more than the cache misses it
+     * saves on lookups
+     * params: keys, results -> receives the value of each key, or null
+     * returns: number of keys that had a mapping
+     */
+    @Override
+    public int getAll(K[] keys, V[] results) {
+        if(results.length < keys.length) {
+            throw new IllegalArgumentException("results is shorter than keys");
+        }
+        migrate();
+        int found = 0;
+        for(int i = 0; i < keys.length; i++) {
+            HashNode<K, V> node = findNode(keys[i].hashCode(), keys[i]);
+            if(node != null) {
+                results[i] = node.value;
+                found++;
+            } else {
+                results[i] = null;
+            }
+        }
+        if(stats != null) {
+            stats.hit(found);
+            stats.miss(keys.length - found);
+        }
+        return found;
+    }
+
+    /**
+     * removes a batch of keys in order
+     * params: keys
+     * returns: number of entries removed
+     */
+    @Override
+    public int removeAll(K[] keys) {
+        int before = size;
+        for(int i = 0; i < keys.length; i++) {
+            remove(keys[i]);
+        }
+        return before - size;
+    }
+
+    /**
+     * returns: true if an incremental resize is still moving nodes
+     */
+    public boolean isResizing() {
+        return oldBucket != null;
+    }
+
+    /**
+     * starts collecting statistics for this table. Calling it again keeps
+     * the statistics already collected
+     * returns: the table's statistics
+     */
+    public HashTableStats enableStats() {
+        if(stats == null) {
+            stats = new HashTableStats(this);
+        }
+        return stats;
+    }
+
+    /**
+     * stops collecting statistics, removes them from the platform MBean
+     * server if they were registered and drops the ones collected so far
+     */
+    public void disableStats() {
+        if(stats != null) {
+            try {
+                stats.unregister();
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+        stats = null;
+    }
+
+    /**
+     * returns: the table's statistics, or null if they are not enabled
+     */
+    public HashTableStats getStats() {
+        return stats;
+    }
+
+    int capacity() {
+        return currCapacity;
+    }
+
+    int threshold() {
+        return threshold;
+    }
+
+    /**
+     * counts the entries of every bucket, including buckets of the old
+     * array during an incremental resize
+     * returns: number of buckets of each length, indexed by length and
+     *          ending at the longest bucket
+     */
+    long[] chainLengthHistogram() {
+        long[] histogram = addChainLengths(bucket, new long[TREEIFY_THRESHOLD + 1]);
+        if(oldBucket != null) {
+            histogram = addChainLengths(oldBucket, histogram);
+        }
+        int max = histogram.length - 1;
+        while(max > 0 && histogram[max] == 0) {
+            max--;
+        }
+        return Arrays.copyOf(histogram, max + 1);
+    }
+
+    /**
+     * counts the entries of every bucket of table into histogram
+     * returns: histogram, or a longer copy of it if a bucket did not fit
+     */
+    private long[] addChainLengths(HashNode<K, V>[] table, long[] histogram) {
+        for(HashNode<K, V> first : table) {
+            int length = 0;
+            if(first instanceof TreeBin) {
+                length = ((TreeBin<K, V>) first).count;
+            } else {
+                for(HashNode<K, V> curr = first; curr != null; curr = curr.next) {
+                    length++;
+                }
+            }
+            if(length >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, Math.max(length + 1, histogram.length * 2));
+            }
+            histogram[length]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * finishes any incremental resize and returns the bucket array
+     */
+    private HashNode<K, V>[] buckets() {
+        while(oldBucket != null) {
+            moveNodes(Integer.MAX_VALUE);
+        }
+        return bucket;
+    }
+
+    double getLoadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     * returns: the strategy that picks each key's bucket
+     */
+    public HashStrategy getHashStrategy() {
+        return strategy;
+    }
+
+    /**
+     * adds an entry to bucket index without looking for an existing key or
+     * checking the load factor, for HashTableSnapshot to rebuild a table
+     * whose layout is already known
+     */
+    void appendToBucket(int index, int hash, K key, V value) {
+        linkNode(bucket, index, new HashNode<K, V>(hash, key, value));
+        size++;
+    }
+
+    /**
+     * finds the node holding key, looking in the old array as well
+     * while an incremental resize is in progress
+     */
+    private HashNode<K, V> findNode(int hash, K key) {
+        HashNode<K, V> found = findInBucket(bucket[strategy.indexFor(hash, bucket.length)], hash, key);
+        if(found == null && oldBucket != null) {
+            found = findInBucket(oldBucket[strategy.indexFor(hash, oldBucket.length)], hash, key);
+        }
+        return found;
+    }
+
+    /**
+     * searches one bucket, which is either a chain or a tree
+     */
+    private HashNode<K, V> findInBucket(HashNode<K, V> first, int hash, K key) {
+        if(first instanceof TreeBin) {
+            return ((TreeBin<K, V>) first).find(hash, key);
+        }
+        HashNode<K, V> curr = first;
+        while(curr != null) {
+            if(curr.hash == hash && curr.key.equals(key)) {
+                return curr;
+            }
+            curr = curr.next;
+        }
+        return null;
+    }
+
+    /**
+     * removes the node holding key from its bucket in table, turning a
+     * tree bucket back into a chain once it is small enough
+     * returns: the removed node, or null if key is not in table
+     */
+    private HashNode<K, V> unlink(HashNode<K, V>[] table, int hash, K key) {
+        int index = strategy.indexFor(hash, table.length);
+        HashNode<K, V> first = table[index];
+        if(first instanceof TreeBin) {
+            TreeBin<K, V> tree = (TreeBin<K, V>) first;
+            HashNode<K, V> removed = tree.remove(hash, key);
+            if(removed != null && tree.count <= UNTREEIFY_THRESHOLD) {
+                table[index] = tree.untreeify();
+            }
+            return removed;
+        }
+        HashNode<K, V> prev = null;
+        HashNode<K, V> curr = first;
+        while(curr != null) {
+            if(curr.hash == hash && curr.key.equals(key)) {
+                if(prev == null) {
+                    table[index] = curr.next;
+                } else {
+                    prev.next = curr.next;
+                }
+                curr.next = null;
+                return curr;
+            }
+            prev = curr;
+            curr = curr.next;
+        }
+        return null;
+    }
+
+    /**
+     * adds node to bucket index of table. A chain that reaches
+     * TREEIFY_THRESHOLD nodes is turned into a tree
+     */
+    private void linkNode(HashNode<K, V>[] table, int index, HashNode<K, V> node) {
+        HashNode<K, V> first = table[index];
+        if(first instanceof TreeBin) {
+            ((TreeBin<K, V>) first).add(node.hash, node.key, node.value);
+            return;
+        }
+        node.next = first;
+        table[index] = node;
+        if(table.length >= MIN_TREEIFY_CAPACITY) {
+            int length = 0;
+            for(HashNode<K, V> curr = node; curr != null && length < TREEIFY_THRESHOLD; curr = curr.next) {
+                length++;
+            }
+            if(length == TREEIFY_THRESHOLD) {
+                TreeBin<K, V> tree = new TreeBin<K, V>();
+                for(HashNode<K, V> curr = node; curr != null; curr = curr.next) {
+                    tree.add(curr.hash, curr.key, curr.value);
+                }
+                table[index] = tree;
+            }
+        }
+    }
+
+    /**
+     * doubles the array. Existing nodes are relinked into the new array
+     * rather than copied, either all at once or a few per operation
+     */
+    private void resize() {
+        //an unfinished incremental resize has to be completed first
+        while(oldBucket != null) {
+            migrate();
+        }
+        resize(currCapacity * 2);
+    }
+
+    /**
+     * starts moving every node into an array of the given capacity
+     */
+    private void resize(int newCapacity) {
+        oldBucket = bucket;
+        migrateIndex = 0;
+        currCapacity = newCapacity;
+        bucket = new HashNode[currCapacity];
+        threshold = (int) (currCapacity * loadFactor);
+        if(stats != null) {
+            stats.resized();
+        }
+        if(!incrementalResize) {
+            while(oldBucket != null) {
+                moveNodes(Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * does one bounded step of an incremental resize, if one is running
+     */
+    private void migrate() {
+        if(oldBucket != null) {
+            moveNodes(MIGRATION_WORK);
+        }
+    }
+
+    /**
+     * moves up to work nodes from oldBucket into bucket. Visiting an
+     * empty bucket also counts as one unit of work so the cost of each
+     * call stays bounded
+     */
+    private void moveNodes(int work) {
+        long startTime = stats != null ? System.nanoTime() : 0;
+        while(work > 0 && oldBucket != null) {
+            HashNode<K, V> node = oldBucket[migrateIndex];
+            if(node == null) {
+                migrateIndex++;
+                if(migrateIndex == oldBucket.length) {
+                    oldBucket = null;
+                }
+            } else if(node instanceof TreeBin) {
+                TreeBin<K, V> tree = (TreeBin<K, V>) node;
+                HashNode<K, V> first = tree.pollFirst();
+                if(tree.count == 0) {
+                    oldBucket[migrateIndex] = null;
+                }
+                linkNode(bucket, strategy.indexFor(first.hash, currCapacity),
+                        new HashNode<K, V>(first.hash, first.key, first.value));
+            } else {
+                oldBucket[migrateIndex] = node.next;
+                linkNode(bucket, strategy.indexFor(node.hash, currCapacity), node);
+            }
+            work--;
+        }
+        if(stats != null) {
+            stats.resizeTime(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * returns: hash code of every key
+     * throws NullPointerException if any key is null
+     */
+    private int[] hashAll(K[] keys) {
+        int[] hashes = new int[keys.length];
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] == null) {
+                throw new NullPointerException();
+            }
+            hashes[i] = keys[i].hashCode();
+        }
+        return hashes;
+    }
+
+    /**
+     * sorts the positions of a batch by the bucket they fall into. A
+     * counting sort over the buckets is used when the batch is large
+     * compared to the array, otherwise a regular sort
+     * returns: bucket index in the high 32 bits and batch position in the
+     *          low 32 bits of each element, in bucket order
+     */
+    private long[] bucketOrder(int[] hashes, int capacity) {
+        long[] order = new long[hashes.length];
+        if(capacity <= 4L * hashes.length) {
+            int[] start = new int[capacity + 1];
+            int[] indexes = new int[hashes.length];
+            for(int i = 0; i < hashes.length; i++) {
+                indexes[i] = strategy.indexFor(hashes[i], capacity);
+                start[indexes[i] + 1]++;
+            }
+            for(int b = 0; b < capacity; b++) {
+                start[b + 1] += start[b];
+            }
+            for(int i = 0; i < hashes.length; i++) {
+                order[start[indexes[i]]++] = ((long) indexes[i] << 32) | i;
+            }
+            return order;
+        }
+        for(int i = 0; i < hashes.length; i++) {
+            order[i] = ((long) strategy.indexFor(hashes[i], capacity) << 32) | i;
+        }
+        Arrays.sort(order);
+        return order;
+    }
+
+    /**
+     * returns: index of the bucket for a hash code in an array of the given
+     *          capacity with the default strategy, for IndexedHashTable
+     */
+    static int indexFor(int hash, int capacity) {
+        return Math.abs(hash % capacity);
+    }
 }
 
 /**
- * inner node class for constructing hash table
+ * spliterator over the buckets lo to hi - 1 of a bucket array. Splitting
+ * hands the lower half of the remaining buckets to a new spliterator, so
+ * a parallel scan divides the array without copying it
  *
  * @param <K>
  * @param <V>
  */
-class HashNode<K, V> {
-    K key;
-    V value;
-    HashNode<K, V> next;
-    
-    public HashNode(K key, V value) {
-        this.key = key;
-        this.value = value;
+class BucketSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+    private final HashNode<K, V>[] table;
+    //next bucket to visit
+    private int lo;
+    //one past the last bucket to visit
+    private final int hi;
+    //number of entries in the whole table
+    private final int tableSize;
+    //next node of the bucket being visited, null between buckets
+    private HashNode<K, V> current;
+
+    BucketSpliterator(HashNode<K, V>[] table, int lo, int hi, int tableSize) {
+        this.table = table;
+        this.lo = lo;
+        this.hi = hi;
+        this.tableSize = tableSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+        while(current == null && lo < hi) {
+            current = first(table[lo++]);
+        }
+        if(current == null) {
+            return false;
+        }
+        HashNode<K, V> node = current;
+        current = node.next;
+        action.accept(node);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+        for(; current != null; current = current.next) {
+            action.accept(current);
+        }
+        for(; lo < hi; lo++) {
+            for(HashNode<K, V> node = first(table[lo]); node != null; node = node.next) {
+                action.accept(node);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> trySplit() {
+        int mid = (lo + hi) >>> 1;
+        if(current != null || mid <= lo) {
+            return null;
+        }
+        BucketSpliterator<K, V> prefix = new BucketSpliterator<K, V>(table, lo, mid, tableSize);
+        lo = mid;
+        return prefix;
+    }
+
+    /**
+     * returns: entries expected in the remaining buckets if the table's
+     *          entries are spread evenly
+     */
+    @Override
+    public long estimateSize() {
+        return table.length == 0 ? 0 : (long) tableSize * (hi - lo) / table.length;
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL;
+    }
+
+    private static <K, V> HashNode<K, V> first(HashNode<K, V> node) {
+        return node instanceof TreeBin ? ((TreeBin<K, V>) node).first : node;
     }
 }
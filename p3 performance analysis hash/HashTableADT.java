@@ -1,4 +1,5 @@
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * Created by sripradha on 19/02/18.
@@ -49,4 +50,86 @@ public interface HashTableADT<K, V> {
      * @return: The total number of entries in the hashtable
      */
     int size();
+
+    /**
+     * Passes every entry to action, in no particular order. The table
+     * must not be changed until forEach returns
+     *
+     * @param action: Called with the key and value of each entry
+     */
+    void forEach(BiConsumer<? super K, ? super V> action);
+
+    /**
+     * Looks up a key that may not have a mapping, without the cost of an
+     * exception when it does not
+     *
+     * @param key: The key for which the value is returned
+     * @param defaultValue: Returned when the key has no mapping
+     * @return The value associated with the key, else defaultValue
+     */
+    default V getOrDefault(K key, V defaultValue) {
+        try {
+            return get(key);
+        } catch (NoSuchElementException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Inserts a batch of entries, as if put were called for each index
+     * in order
+     *
+     * @param keys: The keys that go into the hashtable
+     * @param values: The value for the key at the same index
+     * @throws NullPointerException if any key is null
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    default void putAll(K[] keys, V[] values) {
+        if(keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        for(int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Looks up a batch of keys
+     *
+     * @param keys: The keys for which values are returned
+     * @param results: Receives the value of the key at the same index,
+     *          or null if the key has no mapping
+     * @return the number of keys that had a mapping
+     * @throws IllegalArgumentException if results is shorter than keys
+     */
+    default int getAll(K[] keys, V[] results) {
+        if(results.length < keys.length) {
+            throw new IllegalArgumentException("results is shorter than keys");
+        }
+        int found = 0;
+        for(int i = 0; i < keys.length; i++) {
+            try {
+                results[i] = get(keys[i]);
+                found++;
+            } catch (NoSuchElementException e) {
+                results[i] = null;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes a batch of keys
+     *
+     * @param keys: Keys of the entries to be removed
+     * @return the number of entries removed
+     * @throws NullPointerException if any key is null
+     */
+    default int removeAll(K[] keys) {
+        int before = size();
+        for(int i = 0; i < keys.length; i++) {
+            remove(keys[i]);
+        }
+        return before - size();
+    }
 }
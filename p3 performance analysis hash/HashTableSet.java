@@ -0,0 +1,276 @@
+/**
+ * HashTableSet class used to store a set of keys in the same buckets as
+ * HashTable, without a value reference in each node. Every node keeps its
+ * key's hash code, so a lookup only calls equals on keys whose hash
+ * matches and a resize never calls hashCode again. A bucket is a chain of
+ * SetNodes until it reaches HashTable.TREEIFY_THRESHOLD keys, then it is
+ * turned into the same TreeBin HashTable uses, whose values are left
+ * null, so colliding keys cost O(log n) instead of a walk of the chain.
+ * Buckets are picked by a HashStrategy like in HashTable
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, HashSetADT.java, TreeBin.java
+ */
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class HashTableSet<K> implements HashSetADT<K> {
+    //array to hold buckets, each one a chain of SetNodes or a TreeBin
+    private Object[] bucket;
+    //size of array
+    private int currCapacity;
+    //for determining when to resize array
+    private double loadFactor;
+    //number of keys allowed before the array is resized
+    private int threshold;
+    //number of keys in the set
+    private int size;
+    //turns hash codes into bucket indexes
+    private HashStrategy strategy;
+
+    /**
+     * constructor sets initial capacity and load factor
+     * Param: initialCapacity, loadFactor
+     */
+    public HashTableSet(int initialCapacity, double loadFactor) {
+        this(initialCapacity, loadFactor, HashStrategy.identityModulo());
+    }
+
+    /**
+     * constructor sets initial capacity, load factor and the strategy that
+     * picks each key's bucket
+     * Param: initialCapacity -> rounded to a capacity strategy accepts,
+     *        loadFactor, strategy
+     */
+    public HashTableSet(int initialCapacity, double loadFactor, HashStrategy strategy) {
+        this.strategy = strategy;
+        this.currCapacity = strategy.capacityFor(initialCapacity);
+        this.loadFactor = loadFactor;
+        bucket = new Object[currCapacity];
+        threshold = (int) (currCapacity * loadFactor);
+    }
+
+    /**
+     * adds key to the set, resizing the array first if it is full
+     * param: key
+     * returns: true if key was not already in the set
+     */
+    @Override
+    public boolean add(K key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int hash = key.hashCode();
+        if(findInBucket(bucket[strategy.indexFor(hash, currCapacity)], hash, key)) {
+            return false;
+        }
+        if(size >= threshold) {
+            resize();
+        }
+        linkNode(bucket, strategy.indexFor(hash, currCapacity), new SetNode<K>(hash, key, null));
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(K key) {
+        if(key == null) {
+            return false;
+        }
+        int hash = key.hashCode();
+        return findInBucket(bucket[strategy.indexFor(hash, currCapacity)], hash, key);
+    }
+
+    /**
+     * removes key from the set, turning a tree bucket back into a chain
+     * once it is small enough
+     * param: key
+     * returns: true if key was in the set
+     */
+    @Override
+    public boolean remove(K key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int hash = key.hashCode();
+        int index = strategy.indexFor(hash, currCapacity);
+        Object first = bucket[index];
+        if(first instanceof TreeBin) {
+            TreeBin<K, Object> tree = tree(first);
+            if(tree.remove(hash, key) == null) {
+                return false;
+            }
+            if(tree.count <= HashTable.UNTREEIFY_THRESHOLD) {
+                bucket[index] = untreeify(tree);
+            }
+            size--;
+            return true;
+        }
+        SetNode<K> prev = null;
+        for(SetNode<K> curr = chain(first); curr != null; prev = curr, curr = curr.next) {
+            if(curr.hash == hash && curr.key.equals(key)) {
+                if(prev == null) {
+                    bucket[index] = curr.next;
+                } else {
+                    prev.next = curr.next;
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bucket, null);
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * passes every key to action in bucket order
+     * param: action
+     */
+    @Override
+    public void forEach(Consumer<? super K> action) {
+        for(int i = 0; i < currCapacity; i++) {
+            Object first = bucket[i];
+            if(first instanceof TreeBin) {
+                TreeBin<K, Object> tree = tree(first);
+                for(HashNode<K, Object> curr = tree.first; curr != null; curr = curr.next) {
+                    action.accept(curr.key);
+                }
+            } else {
+                for(SetNode<K> curr = chain(first); curr != null; curr = curr.next) {
+                    action.accept(curr.key);
+                }
+            }
+        }
+    }
+
+    /**
+     * searches one bucket, which is either a chain or a tree
+     * returns: true if key is in the bucket
+     */
+    private boolean findInBucket(Object first, int hash, K key) {
+        if(first instanceof TreeBin) {
+            return tree(first).find(hash, key) != null;
+        }
+        for(SetNode<K> curr = chain(first); curr != null; curr = curr.next) {
+            if(curr.hash == hash && curr.key.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * adds node to bucket index of table. A chain that reaches
+     * HashTable.TREEIFY_THRESHOLD nodes is turned into a tree
+     */
+    private void linkNode(Object[] table, int index, SetNode<K> node) {
+        Object first = table[index];
+        if(first instanceof TreeBin) {
+            tree(first).add(node.hash, node.key, null);
+            return;
+        }
+        node.next = chain(first);
+        table[index] = node;
+        if(table.length >= HashTable.MIN_TREEIFY_CAPACITY) {
+            int length = 0;
+            for(SetNode<K> curr = node; curr != null && length < HashTable.TREEIFY_THRESHOLD; curr = curr.next) {
+                length++;
+            }
+            if(length == HashTable.TREEIFY_THRESHOLD) {
+                TreeBin<K, Object> tree = new TreeBin<K, Object>();
+                for(SetNode<K> curr = node; curr != null; curr = curr.next) {
+                    tree.add(curr.hash, curr.key, null);
+                }
+                table[index] = tree;
+            }
+        }
+    }
+
+    /**
+     * returns: the keys of a tree bucket as a plain chain
+     */
+    private SetNode<K> untreeify(TreeBin<K, Object> tree) {
+        SetNode<K> head = null;
+        for(HashNode<K, Object> curr = tree.first; curr != null; curr = curr.next) {
+            head = new SetNode<K>(curr.hash, curr.key, head);
+        }
+        return head;
+    }
+
+    /**
+     * doubles the array and relinks every node using its cached hash. The
+     * keys of a tree bucket get new chain nodes
+     */
+    private void resize() {
+        Object[] old = bucket;
+        currCapacity = currCapacity * 2;
+        bucket = new Object[currCapacity];
+        threshold = (int) (currCapacity * loadFactor);
+        for(Object first : old) {
+            if(first instanceof TreeBin) {
+                TreeBin<K, Object> tree = tree(first);
+                for(HashNode<K, Object> curr = tree.first; curr != null; curr = curr.next) {
+                    linkNode(bucket, strategy.indexFor(curr.hash, currCapacity),
+                            new SetNode<K>(curr.hash, curr.key, null));
+                }
+                continue;
+            }
+            SetNode<K> curr = chain(first);
+            while(curr != null) {
+                SetNode<K> next = curr.next;
+                linkNode(bucket, strategy.indexFor(curr.hash, currCapacity), curr);
+                curr = next;
+            }
+        }
+    }
+
+    /**
+     * returns: first node of a bucket that is not a tree
+     */
+    @SuppressWarnings("unchecked")
+    private static <K> SetNode<K> chain(Object first) {
+        return (SetNode<K>) first;
+    }
+
+    /**
+     * returns: a bucket that is a tree
+     */
+    @SuppressWarnings("unchecked")
+    private static <K> TreeBin<K, Object> tree(Object first) {
+        return (TreeBin<K, Object>) first;
+    }
+}
+
+/**
+ * node of a HashTableSet chain. It has no value field, so it is one
+ * reference smaller than HashNode
+ *
+ * @param <K>
+ */
+class SetNode<K> {
+    final int hash;
+    final K key;
+    SetNode<K> next;
+
+    SetNode(int hash, K key, SetNode<K> next) {
+        this.hash = hash;
+        this.key = key;
+        this.next = next;
+    }
+}
@@ -0,0 +1,301 @@
+/**
+ * HashTableSnapshot class used to save a HashTable to a compact binary
+ * file and to rebuild it again without parsing text or rehashing keys.
+ * Entries are written bucket by bucket, so a reload only has to append
+ * each entry to the bucket it was saved from, and MappedHashTable can
+ * answer lookups straight from the mapped file.
+ *
+ * File layout (big endian):
+ *   header  : magic, version, key type, value type, capacity, load factor, size,
+ *             hash strategy id, hash strategy seed
+ *   entries : for every bucket in order, each entry as hash, key, value
+ *   index   : capacity + 1 longs, offset of the first entry of each bucket
+ *             relative to the end of the header (the last one is the end)
+ *   trailer : offset of the index, magic
+ * Integers take 4 bytes. Strings take a header of (length shifted left by
+ * one, low bit set if every character fits in one byte) and then one or
+ * two bytes per character.
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, MappedHashTable.java
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class HashTableSnapshot {
+    //"HTS1"
+    static final int MAGIC = 0x48545331;
+    static final int VERSION = 2;
+    static final byte TYPE_INTEGER = 0;
+    static final byte TYPE_STRING = 1;
+    //magic, version, key type, value type, capacity, load factor, size, strategy id, seed
+    static final int HEADER_BYTES = 4 + 4 + 1 + 1 + 4 + 8 + 4 + 1 + 4;
+    //offset of the index, magic
+    static final int TRAILER_BYTES = 8 + 4;
+    //size of the buffer entries are gathered in before each write
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+
+    private HashTableSnapshot(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+    }
+
+    /**
+     * writes table to file, replacing anything already there
+     * param: table -> keys and values must all be Integers or all be Strings,
+     *        and its hash strategy must be one of the built-in ones
+     * throws IllegalArgumentException if a key or value has another type
+     */
+    public static void write(HashTable<?, ?> table, Path file) throws IOException {
+        HashStrategy strategy = table.getHashStrategy();
+        if(strategy.id() == HashStrategy.CUSTOM) {
+            throw new IllegalArgumentException("snapshots hold only tables with a built-in hash strategy");
+        }
+        HashTable<?, ?>.Cursor cursor = table.cursor();
+        int capacity = table.capacity();
+        byte keyType = TYPE_STRING;
+        byte valueType = TYPE_STRING;
+        if(cursor.next()) {
+            keyType = typeOf(cursor.key());
+            valueType = typeOf(cursor.value());
+            cursor.reset();
+        }
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            HashTableSnapshot out = new HashTableSnapshot(channel);
+            out.buffer.putInt(MAGIC);
+            out.buffer.putInt(VERSION);
+            out.buffer.put(keyType);
+            out.buffer.put(valueType);
+            out.buffer.putInt(capacity);
+            out.buffer.putDouble(table.getLoadFactor());
+            out.buffer.putInt(table.size());
+            out.buffer.put((byte) strategy.id());
+            out.buffer.putInt(strategy.seed());
+
+            long[] start = new long[capacity + 1];
+            long position = 0;
+            int b = 0;
+            while(cursor.next()) {
+                //the cursor visits buckets in order, so every bucket up to this one starts here
+                while(b <= cursor.bucketIndex()) {
+                    start[b++] = position;
+                }
+                if(typeOf(cursor.key()) != keyType || typeOf(cursor.value()) != valueType) {
+                    throw new IllegalArgumentException("keys and values must each be of one type");
+                }
+                out.ensure(4);
+                out.buffer.putInt(cursor.hash());
+                position += 4 + out.writeObject(cursor.key()) + out.writeObject(cursor.value());
+            }
+            while(b < capacity) {
+                start[b++] = position;
+            }
+            start[capacity] = position;
+            for(long offset : start) {
+                out.ensure(8);
+                out.buffer.putLong(offset);
+            }
+            out.ensure(TRAILER_BYTES);
+            out.buffer.putLong(HEADER_BYTES + position);
+            out.buffer.putInt(MAGIC);
+            out.flush();
+        }
+    }
+
+    /**
+     * rebuilds a HashTable from a snapshot in one pass over the file. Every
+     * entry goes straight into the bucket it was saved from
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashTable<K, V> load(Path file) throws IOException {
+        ByteBuffer map = map(file);
+        byte keyType = map.get(8);
+        byte valueType = map.get(9);
+        int capacity = map.getInt(10);
+        double loadFactor = map.getDouble(14);
+        long indexOffset = map.getLong(map.limit() - TRAILER_BYTES);
+        HashTable<K, V> table = new HashTable<K, V>(capacity, loadFactor, false, strategyOf(map));
+        int pos = HEADER_BYTES;
+        for(int b = 0; b < capacity; b++) {
+            int end = HEADER_BYTES + (int) map.getLong((int) indexOffset + 8 * (b + 1));
+            while(pos < end) {
+                int hash = map.getInt(pos);
+                pos += 4;
+                Object key = decode(map, pos, keyType);
+                pos += encodedLength(map, pos, keyType);
+                Object value = decode(map, pos, valueType);
+                pos += encodedLength(map, pos, valueType);
+                table.appendToBucket(b, hash, (K) key, (V) value);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * maps a snapshot file and checks its header and trailer
+     * throws IOException if the file is not a snapshot or is too large to map
+     */
+    static MappedByteBuffer map(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if(length > Integer.MAX_VALUE) {
+                throw new IOException("snapshots over 2GB can not be mapped: " + file);
+            }
+            if(length < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("not a hash table snapshot: " + file);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if(map.getInt(0) != MAGIC || map.getInt((int) length - 4) != MAGIC) {
+                throw new IOException("not a hash table snapshot: " + file);
+            }
+            if(map.getInt(4) != VERSION) {
+                throw new IOException("unsupported snapshot version " + map.getInt(4) + ": " + file);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * returns: the hash strategy the snapshot's buckets were laid out with
+     */
+    static HashStrategy strategyOf(ByteBuffer map) {
+        return HashStrategy.forId(map.get(26), map.getInt(27));
+    }
+
+    /**
+     * returns: number of bytes the encoded object at pos takes
+     */
+    static int encodedLength(ByteBuffer map, int pos, byte type) {
+        if(type == TYPE_INTEGER) {
+            return 4;
+        }
+        int header = map.getInt(pos);
+        return 4 + ((header & 1) != 0 ? header >>> 1 : header & ~1);
+    }
+
+    /**
+     * returns: the object encoded at pos
+     */
+    static Object decode(ByteBuffer map, int pos, byte type) {
+        if(type == TYPE_INTEGER) {
+            return map.getInt(pos);
+        }
+        int header = map.getInt(pos);
+        int length = header >>> 1;
+        pos += 4;
+        if((header & 1) != 0) {
+            byte[] bytes = new byte[length];
+            for(int i = 0; i < length; i++) {
+                bytes[i] = map.get(pos + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        for(int i = 0; i < length; i++) {
+            chars[i] = map.getChar(pos + 2 * i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * compares the object encoded at pos with key without decoding it
+     */
+    static boolean matches(ByteBuffer map, int pos, byte type, Object key) {
+        if(type == TYPE_INTEGER) {
+            return key instanceof Integer && map.getInt(pos) == (Integer) key;
+        }
+        if(!(key instanceof String)) {
+            return false;
+        }
+        String s = (String) key;
+        int header = map.getInt(pos);
+        int length = header >>> 1;
+        if(length != s.length()) {
+            return false;
+        }
+        pos += 4;
+        if((header & 1) != 0) {
+            for(int i = 0; i < length; i++) {
+                if((map.get(pos + i) & 0xff) != s.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            for(int i = 0; i < length; i++) {
+                if(map.getChar(pos + 2 * i) != s.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * adds an Integer or String to the buffer
+     * returns: number of bytes written
+     */
+    private int writeObject(Object o) throws IOException {
+        if(o instanceof Integer) {
+            ensure(4);
+            buffer.putInt((Integer) o);
+            return 4;
+        }
+        String s = (String) o;
+        boolean latin1 = true;
+        for(int i = 0; i < s.length() && latin1; i++) {
+            latin1 = s.charAt(i) <= 0xff;
+        }
+        int bytes = latin1 ? s.length() : 2 * s.length();
+        ensure(4 + bytes);
+        buffer.putInt((s.length() << 1) | (latin1 ? 1 : 0));
+        for(int i = 0; i < s.length(); i++) {
+            if(latin1) {
+                buffer.put((byte) s.charAt(i));
+            } else {
+                buffer.putChar(s.charAt(i));
+            }
+        }
+        return 4 + bytes;
+    }
+
+    /**
+     * makes room for n more bytes in the buffer, writing out what it holds
+     */
+    private void ensure(int n) throws IOException {
+        if(buffer.remaining() >= n) {
+            return;
+        }
+        flush();
+        if(buffer.capacity() < n) {
+            buffer = ByteBuffer.allocateDirect(n);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte typeOf(Object o) {
+        if(o instanceof Integer) {
+            return TYPE_INTEGER;
+        }
+        if(o instanceof String) {
+            return TYPE_STRING;
+        }
+        throw new IllegalArgumentException("snapshots hold only Integer and String keys and values");
+    }
+}
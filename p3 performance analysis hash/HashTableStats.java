@@ -0,0 +1,187 @@
+/**
+ * HashTableStats class used to collect statistics about one HashTable.
+ * Counters for hits, misses, removes and resizes are updated by the table
+ * as it runs, while the shape of the table (chain lengths, capacity,
+ * load) is read from it when asked for. A table only has one of these
+ * after HashTable.enableStats is called, so tables without stats pay a
+ * single null check per operation. The counters are not synchronized,
+ * just like HashTable itself, so values read over JMX from another
+ * thread may be slightly behind
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTableStatsMBean.java, HashTable.java
+ */
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class HashTableStats implements HashTableStatsMBean {
+    //table the statistics describe
+    private HashTable<?, ?> table;
+    //name the statistics are registered under, null if not registered
+    private ObjectName objectName;
+    private long resizeCount;
+    private long resizeNanos;
+    private long hits;
+    private long misses;
+    private long removes;
+
+    HashTableStats(HashTable<?, ?> table) {
+        this.table = table;
+    }
+
+    /**
+     * publishes the statistics on the platform MBean server under
+     * HashTable:type=HashTableStats,name=name
+     * param: name
+     * returns: the name the MBean was registered under
+     */
+    public ObjectName register(String name) throws JMException {
+        unregister();
+        ObjectName objectName = new ObjectName("HashTable:type=HashTableStats,name="
+                + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+        return objectName;
+    }
+
+    /**
+     * removes the statistics from the platform MBean server if they were registered
+     */
+    public void unregister() throws JMException {
+        if(objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if(server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        objectName = null;
+    }
+
+    void hit() {
+        hits++;
+    }
+
+    void hit(int count) {
+        hits += count;
+    }
+
+    void miss() {
+        misses++;
+    }
+
+    void miss(int count) {
+        misses += count;
+    }
+
+    void removed() {
+        removes++;
+    }
+
+    void resized() {
+        resizeCount++;
+    }
+
+    void resizeTime(long nanos) {
+        resizeNanos += nanos;
+    }
+
+    @Override
+    public int getSize() {
+        return table.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return table.capacity();
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) table.size() / table.capacity();
+    }
+
+    @Override
+    public double getLoadFactor() {
+        return table.getLoadFactor();
+    }
+
+    @Override
+    public int getRemainingBeforeResize() {
+        return Math.max(table.threshold() - table.size(), 0);
+    }
+
+    @Override
+    public long[] getChainLengthHistogram() {
+        return table.chainLengthHistogram();
+    }
+
+    @Override
+    public int getMaxChainLength() {
+        return table.chainLengthHistogram().length - 1;
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    @Override
+    public long getResizeTimeNanos() {
+        return resizeNanos;
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public long getRemoves() {
+        return removes;
+    }
+
+    @Override
+    public void reset() {
+        resizeCount = 0;
+        resizeNanos = 0;
+        hits = 0;
+        misses = 0;
+        removes = 0;
+    }
+
+    /**
+     * returns: capacity, load and chain lengths of the table as it is now
+     */
+    public String describeShape() {
+        long[] histogram = table.chainLengthHistogram();
+        return "Size: " + table.size() + " | Capacity: " + table.capacity()
+                + " | Load: " + String.format("%.3f", getLoad()) + " | Load Factor: " + table.getLoadFactor()
+                + " | Remaining Before Resize: " + getRemainingBeforeResize()
+                + " | Max Chain: " + (histogram.length - 1)
+                + " | Chain Histogram: " + Arrays.toString(histogram);
+    }
+
+    /**
+     * returns: counters collected since the stats were enabled or reset
+     */
+    public String describeCounters() {
+        return "Resizes: " + resizeCount + " | Resize Time(ms): " + resizeNanos / 1_000_000
+                + " | Hits: " + hits + " | Misses: " + misses + " | Removes: " + removes;
+    }
+
+    @Override
+    public String toString() {
+        return describeShape() + " | " + describeCounters();
+    }
+}
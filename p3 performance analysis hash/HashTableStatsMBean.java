@@ -0,0 +1,76 @@
+/**
+ * HashTableStatsMBean interface listing the HashTable statistics that are
+ * published over JMX, so they can be watched with jconsole or any other
+ * JMX client while a program runs
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTableStats.java, HashTable.java
+ */
+public interface HashTableStatsMBean {
+    /**
+     * returns: number of elements in the table
+     */
+    int getSize();
+
+    /**
+     * returns: number of buckets in the table
+     */
+    int getCapacity();
+
+    /**
+     * returns: size divided by capacity
+     */
+    double getLoad();
+
+    /**
+     * returns: load at which the table is resized
+     */
+    double getLoadFactor();
+
+    /**
+     * returns: number of elements that can still be added before the next resize
+     */
+    int getRemainingBeforeResize();
+
+    /**
+     * returns: number of buckets holding each chain length, the element
+     *          at index i counts the buckets with exactly i entries
+     */
+    long[] getChainLengthHistogram();
+
+    /**
+     * returns: number of entries in the longest bucket
+     */
+    int getMaxChainLength();
+
+    /**
+     * returns: number of times the array has been resized
+     */
+    long getResizeCount();
+
+    /**
+     * returns: total time spent moving nodes into resized arrays
+     */
+    long getResizeTimeNanos();
+
+    /**
+     * returns: number of searches that found their key
+     */
+    long getHits();
+
+    /**
+     * returns: number of searches that did not find their key
+     */
+    long getMisses();
+
+    /**
+     * returns: number of entries removed
+     */
+    long getRemoves();
+
+    /**
+     * sets the resize, hit, miss and remove counters back to zero
+     */
+    void reset();
+}
@@ -0,0 +1,249 @@
+/**
+ * IndexedHashTable class used to construct a chained hash table without
+ * node objects. Entry i is stored at index i of the parallel arrays keys,
+ * values, hashes and next, and each chain is a list of int indexes that
+ * starts in head. Removed entries go on a free list and are reused by
+ * later puts. A resize allocates a new head array, grows the entry
+ * arrays to the new threshold and relinks the indexes using the saved
+ * hash codes, so it never creates an object per entry
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, HashTableADT.java
+ */
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+public class IndexedHashTable<K, V> implements HashTableADT<K, V> {
+    //marks the end of a chain or of the free list
+    private static final int NONE = -1;
+    //first entry of each bucket, NONE if the bucket is empty
+    private int[] head;
+    //entry arrays, all of the same length
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    //next entry of the same chain, or of the free list for a removed entry
+    private int[] next;
+    //number of slots of the entry arrays ever used
+    private int used;
+    //most recently removed slot, NONE if no slot is free
+    private int free;
+    //size of head
+    private int currCapacity;
+    //for determining when to resize array
+    private double loadFactor;
+    //number of elements allowed before head is resized
+    private int threshold;
+    //number of elements in hash table
+    private int size;
+
+    /**
+     * constructor sets initial capacity and load factor
+     * Param: initialCapacity, loadFactor
+     */
+    public IndexedHashTable(int initialCapacity, double loadFactor) {
+        this.currCapacity = Math.max(1, initialCapacity);
+        this.loadFactor = loadFactor;
+        head = new int[currCapacity];
+        Arrays.fill(head, NONE);
+        threshold = (int) (currCapacity * loadFactor);
+        int entries = Math.max(1, threshold);
+        keys = new Object[entries];
+        values = new Object[entries];
+        hashes = new int[entries];
+        next = new int[entries];
+        free = NONE;
+    }
+
+    /**
+     * used to insert elements into hash table, replacing the value of
+     * an existing key
+     * param: key, value
+     * returns: value associated with key
+     */
+    @Override
+    public V put(K key, V value) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int hash = key.hashCode();
+        int i = find(hash, key);
+        if(i != NONE) {
+            values[i] = value;
+            return value;
+        }
+        if(size >= threshold) {
+            resize(currCapacity * 2);
+        }
+        i = allocate();
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = hash;
+        int b = HashTable.indexFor(hash, currCapacity);
+        next[i] = head[b];
+        head[b] = i;
+        size++;
+        return value;
+    }
+
+    /**
+     * gets the value associated with key
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int i = key == null ? NONE : find(key.hashCode(), key);
+        if(i == NONE) {
+            throw new NoSuchElementException();
+        }
+        return (V) values[i];
+    }
+
+    /**
+     * gets the value associated with key, or defaultValue if it has no mapping
+     * params: key, defaultValue
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        int i = key == null ? NONE : find(key.hashCode(), key);
+        return i == NONE ? defaultValue : (V) values[i];
+    }
+
+    /**
+     * removes entry associated with key and puts its slot on the free list
+     * params: key
+     * returns: value of key that was removed, null if key had no mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int hash = key.hashCode();
+        int b = HashTable.indexFor(hash, currCapacity);
+        int prev = NONE;
+        for(int i = head[b]; i != NONE; prev = i, i = next[i]) {
+            if(hashes[i] == hash && keys[i].equals(key)) {
+                if(prev == NONE) {
+                    head[b] = next[i];
+                } else {
+                    next[prev] = next[i];
+                }
+                V value = (V) values[i];
+                //drop the references so the key and value can be collected
+                keys[i] = null;
+                values[i] = null;
+                next[i] = free;
+                free = i;
+                size--;
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * clears the hash table, keeping its arrays
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(head, NONE);
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(values, 0, used, null);
+        used = 0;
+        free = NONE;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * passes every entry to action in slot order
+     * param: action
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for(int i = 0; i < used; i++) {
+            if(keys[i] != null) {
+                action.accept((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * returns: slot of the entry holding key, NONE if there is none
+     */
+    private int find(int hash, Object key) {
+        for(int i = head[HashTable.indexFor(hash, currCapacity)]; i != NONE; i = next[i]) {
+            if(hashes[i] == hash && keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * returns: a free slot, taken from the free list if possible and
+     *          otherwise from the end of the entry arrays
+     */
+    private int allocate() {
+        if(free != NONE) {
+            int i = free;
+            free = next[i];
+            return i;
+        }
+        if(used == keys.length) {
+            growEntries(keys.length + Math.max(1, keys.length >> 1));
+        }
+        return used++;
+    }
+
+    /**
+     * copies the entry arrays into arrays of the given length
+     */
+    private void growEntries(int length) {
+        keys = Arrays.copyOf(keys, length);
+        values = Arrays.copyOf(values, length);
+        hashes = Arrays.copyOf(hashes, length);
+        next = Arrays.copyOf(next, length);
+    }
+
+    /**
+     * replaces head with an array of newCapacity buckets and relinks every
+     * entry by its saved hash code. Free slots are not in any chain, so
+     * they are skipped. The entry arrays are grown to the new threshold at
+     * the same time, so they do not have to grow again before the next resize
+     */
+    private void resize(int newCapacity) {
+        currCapacity = newCapacity;
+        head = new int[newCapacity];
+        Arrays.fill(head, NONE);
+        threshold = (int) (newCapacity * loadFactor);
+        if(keys.length < threshold) {
+            growEntries(threshold);
+        }
+        for(int i = 0; i < used; i++) {
+            if(keys[i] != null) {
+                int b = HashTable.indexFor(hashes[i], newCapacity);
+                next[i] = head[b];
+                head[b] = i;
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/**
+ * IntIntHashTable class used to construct a hash table that maps
+ * primitive int keys to primitive int values. Entries are stored in
+ * parallel int arrays using linear probing, so no objects are allocated
+ * per entry and integer keys are never boxed.
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, PerformanceAnalysisHash.java
+ */
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+public class IntIntHashTable implements HashTableADT<Integer, Integer> {
+    //smallest table that will be allocated
+    private static final int MIN_CAPACITY = 8;
+    //largest table that can be allocated (power of two)
+    private static final int MAX_CAPACITY = 1 << 30;
+    //keys stored in each slot
+    private int[] keys;
+    //values stored in each slot
+    private int[] values;
+    //marks which slots hold an entry
+    private boolean[] used;
+    //size of arrays, always a power of two
+    private int currCapacity;
+    //currCapacity - 1, used in place of a modulo
+    private int mask;
+    //for determining when to resize arrays
+    private double loadFactor;
+    //number of entries allowed before resizing
+    private int threshold;
+    //number of elements in hash table
+    private int size;
+
+    /**
+     * constructor sets initial capacity and load factor
+     * Param: initialCapacity, loadFactor
+     */
+    public IntIntHashTable(int initialCapacity, double loadFactor) {
+        if(loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("loadFactor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.ceil(initialCapacity / loadFactor)));
+        size = 0;
+    }
+
+    /**
+     * used to insert elements into hash table, replacing the value of
+     * an existing key
+     * param: key, value
+     * returns: value associated with key
+     */
+    public int put(int key, int value) {
+        int index = indexOf(key);
+        if(index >= 0) {
+            values[index] = value;
+            return value;
+        }
+        if(size >= threshold) {
+            resize(currCapacity * 2);
+        }
+        int slot = mix(key) & mask;
+        while(used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return value;
+    }
+
+    /**
+     * gets the value associated with key
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    public int get(int key) {
+        int index = indexOf(key);
+        if(index < 0) {
+            throw new NoSuchElementException();
+        }
+        return values[index];
+    }
+
+    /**
+     * checks to see if key has a mapping in the hash table
+     * params: key
+     * returns: true if key is present otherwise false
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * removes entry associated with key. Later entries in the probe
+     * run are shifted back so no tombstones are left behind.
+     * params: key
+     * returns: value of key that was removed, 0 if key had no mapping
+     *          (use containsKey to tell the two apart)
+     */
+    public int remove(int key) {
+        int index = indexOf(key);
+        if(index < 0) {
+            return 0;
+        }
+        int removed = values[index];
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while(used[next]) {
+            int home = mix(keys[next]) & mask;
+            //move the entry back if the hole lies between its home slot and its slot
+            if(((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        size--;
+        return removed;
+    }
+
+    /**
+     * boxed version of put(int, int)
+     */
+    @Override
+    public Integer put(Integer key, Integer value) {
+        if(key == null || value == null) {
+            throw new NullPointerException();
+        }
+        return put(key.intValue(), value.intValue());
+    }
+
+    /**
+     * boxed version of get(int)
+     */
+    @Override
+    public Integer get(Integer key) {
+        return get(key.intValue());
+    }
+
+    /**
+     * boxed version of get(int) that returns defaultValue if key has no mapping
+     */
+    @Override
+    public Integer getOrDefault(Integer key, Integer defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : Integer.valueOf(values[index]);
+    }
+
+    /**
+     * boxed version of remove(int)
+     * returns: value of key that was removed, null if key had no mapping
+     */
+    @Override
+    public Integer remove(Integer key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int index = indexOf(key);
+        if(index < 0) {
+            return null;
+        }
+        return remove(key.intValue());
+    }
+
+    /**
+     * clears the hash table, keeping its current capacity
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * checks to see if hash table is empty
+     * returns: true if is empty otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * passes every entry to action, boxing the keys and values
+     * param: action
+     */
+    @Override
+    public void forEach(BiConsumer<? super Integer, ? super Integer> action) {
+        for(int i = 0; i < currCapacity; i++) {
+            if(used[i]) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * finds the slot holding key
+     * returns: slot index, or -1 if key is not present
+     */
+    private int indexOf(int key) {
+        int slot = mix(key) & mask;
+        while(used[slot]) {
+            if(keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * moves every entry into arrays of the given capacity
+     */
+    private void resize(int newCapacity) {
+        if(currCapacity == MAX_CAPACITY) {
+            throw new IllegalStateException("IntIntHashTable is full");
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        for(int i = 0; i < oldUsed.length; i++) {
+            if(oldUsed[i]) {
+                int slot = mix(oldKeys[i]) & mask;
+                while(used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        currCapacity = capacity;
+        mask = capacity - 1;
+        threshold = (int) (capacity * loadFactor);
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+    }
+
+    /**
+     * scrambles the key so that sequential integers do not form long
+     * probe runs (murmur3 finalizer)
+     */
+    private static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * returns: smallest power of two that is at least capacity
+     */
+    private static int tableSizeFor(int capacity) {
+        if(capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        int n = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return Math.max(n, MIN_CAPACITY);
+    }
+}
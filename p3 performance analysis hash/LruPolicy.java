@@ -0,0 +1,47 @@
+/**
+ * LruPolicy class used to evict the least recently used entry of a
+ * BoundedCache. Entries are kept in one access order list and moved to
+ * its end whenever they are read
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     BoundedCache.java, TinyLfuPolicy.java
+ */
+public class LruPolicy<K, V> implements EvictionPolicy<K, V> {
+    //entries from least to most recently used
+    private AccessOrder<K, V> order = new AccessOrder<K, V>();
+
+    @Override
+    public void setMaximum(long maximumWeight) {
+    }
+
+    @Override
+    public void onInsert(CacheEntry<K, V> entry) {
+        entry.region = CacheEntry.WINDOW;
+        order.addLast(entry);
+    }
+
+    @Override
+    public void onAccess(CacheEntry<K, V> entry) {
+        order.moveToLast(entry);
+    }
+
+    @Override
+    public void onRemove(CacheEntry<K, V> entry) {
+        order.remove(entry);
+    }
+
+    @Override
+    public CacheEntry<K, V> victim() {
+        CacheEntry<K, V> victim = order.peekFirst();
+        if(victim != null) {
+            order.remove(victim);
+        }
+        return victim;
+    }
+
+    @Override
+    public void clear() {
+        order.clear();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * MapAdapter class used to run a java.util.Map through the same
+ * HashTableADT calls as the hash tables in this project, so library maps
+ * can be measured by the same benchmark code
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     PerformanceAnalysisHash.java
+ */
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+public class MapAdapter<K, V> implements HashTableADT<K, V> {
+    //map that every call is passed on to
+    private Map<K, V> map;
+
+    /**
+     * constructor sets the map being adapted
+     * Param: map
+     */
+    public MapAdapter(Map<K, V> map) {
+        this.map = map;
+    }
+
+    /**
+     * used to insert elements into the map
+     * param: key, value
+     * returns: value associated with key
+     */
+    @Override
+    public V put(K key, V value) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        map.put(key, value);
+        return value;
+    }
+
+    /**
+     * gets the value associated with key
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    @Override
+    public V get(K key) {
+        V value = map.get(key);
+        if(value == null && !map.containsKey(key)) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    /**
+     * gets the value associated with key, or defaultValue if key has no mapping
+     * params: key, defaultValue
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        return map.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * clears the map
+     */
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * checks to see if map is empty
+     * returns: true if is empty otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * removes entry associated with key
+     * params: key
+     * returns: value of key that was removed, null if key had no mapping
+     */
+    @Override
+    public V remove(K key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        return map.remove(key);
+    }
+
+    /**
+     * passes every entry of the map to action
+     * param: action
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        map.forEach(action);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * returns: the map being adapted
+     */
+    public Map<K, V> getMap() {
+        return map;
+    }
+}
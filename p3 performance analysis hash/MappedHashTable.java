@@ -0,0 +1,133 @@
+/**
+ * MappedHashTable class used to search a HashTableSnapshot file without
+ * loading it. The file is memory mapped and each lookup reads the bucket
+ * index and compares the stored keys in place, so opening a snapshot
+ * costs the same no matter how many entries it holds. The table is read
+ * only
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTableSnapshot.java, HashTable.java
+ */
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+public class MappedHashTable<K, V> implements HashTableADT<K, V> {
+    //the snapshot file
+    private MappedByteBuffer map;
+    //type tags of the keys and values
+    private byte keyType;
+    private byte valueType;
+    //number of buckets the snapshot was saved with
+    private int capacity;
+    //number of elements in the snapshot
+    private int size;
+    //position of the bucket index in the file
+    private int indexOffset;
+    //strategy the snapshot's buckets were laid out with
+    private HashStrategy strategy;
+
+    private MappedHashTable(MappedByteBuffer map) {
+        this.map = map;
+        keyType = map.get(8);
+        valueType = map.get(9);
+        capacity = map.getInt(10);
+        size = map.getInt(22);
+        indexOffset = (int) map.getLong(map.limit() - HashTableSnapshot.TRAILER_BYTES);
+        strategy = HashTableSnapshot.strategyOf(map);
+    }
+
+    /**
+     * maps a snapshot written by HashTableSnapshot.write
+     * param: file
+     * returns: read only table backed by the file
+     */
+    public static <K, V> MappedHashTable<K, V> open(Path file) throws IOException {
+        return new MappedHashTable<K, V>(HashTableSnapshot.map(file));
+    }
+
+    /**
+     * gets the value associated with key straight from the file
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int hash = key.hashCode();
+        int b = strategy.indexFor(hash, capacity);
+        int pos = HashTableSnapshot.HEADER_BYTES + (int) map.getLong(indexOffset + 8 * b);
+        int end = HashTableSnapshot.HEADER_BYTES + (int) map.getLong(indexOffset + 8 * (b + 1));
+        while(pos < end) {
+            int entryHash = map.getInt(pos);
+            pos += 4;
+            int keyLength = HashTableSnapshot.encodedLength(map, pos, keyType);
+            if(entryHash == hash && HashTableSnapshot.matches(map, pos, keyType, key)) {
+                return (V) HashTableSnapshot.decode(map, pos + keyLength, valueType);
+            }
+            pos += keyLength;
+            pos += HashTableSnapshot.encodedLength(map, pos, valueType);
+        }
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * not supported, the table is read only
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("MappedHashTable is read only");
+    }
+
+    /**
+     * not supported, the table is read only
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("MappedHashTable is read only");
+    }
+
+    /**
+     * not supported, the table is read only
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("MappedHashTable is read only");
+    }
+
+    /**
+     * checks to see if hash table is empty
+     * returns: true if is empty otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * decodes every entry of the file in bucket order and passes it to action
+     * param: action
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int pos = HashTableSnapshot.HEADER_BYTES;
+        while(pos < indexOffset) {
+            pos += 4;
+            K key = (K) HashTableSnapshot.decode(map, pos, keyType);
+            pos += HashTableSnapshot.encodedLength(map, pos, keyType);
+            V value = (V) HashTableSnapshot.decode(map, pos, valueType);
+            pos += HashTableSnapshot.encodedLength(map, pos, valueType);
+            action.accept(key, value);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,449 @@
+/**
+ * OffHeapHashTable class used to construct a hash table of strings whose
+ * keys and values live in a direct ByteBuffer instead of the Java heap.
+ * Each entry is one record in the buffer, buckets hold the offset of the
+ * first record in their chain, and lookups compare the stored key with
+ * the search key character by character without building a String
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, PerformanceAnalysisHash.java
+ */
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+public class OffHeapHashTable implements HashTableADT<String, String> {
+    //largest bucket array that can be allocated (power of two)
+    private static final int MAX_CAPACITY = 1 << 30;
+    //marks the end of a chain
+    private static final int NONE = -1;
+    //record layout: hash, offset of next record, key header, value header, then the characters
+    private static final int HASH = 0;
+    private static final int NEXT = 4;
+    private static final int KEY_HEADER = 8;
+    private static final int VALUE_HEADER = 12;
+    private static final int RECORD_HEADER = 16;
+    //smallest arena that will be allocated, in bytes
+    private static final int MIN_ARENA = 1 << 12;
+    //arena holding every record
+    private ByteBuffer arena;
+    //number of bytes of arena in use, also where the next record is written
+    private int top;
+    //bytes of arena taken by records that were removed or replaced
+    private int garbage;
+    //offset of the first record in each bucket
+    private int[] heads;
+    //heads.length - 1, used in place of a modulo
+    private int mask;
+    //for determining when to resize array
+    private double loadFactor;
+    //number of elements allowed before the array is resized
+    private int threshold;
+    //number of elements in hash table
+    private int size;
+
+    /**
+     * constructor sets initial capacity and load factor
+     * Param: initialCapacity, loadFactor
+     */
+    public OffHeapHashTable(int initialCapacity, double loadFactor) {
+        if(loadFactor <= 0) {
+            throw new IllegalArgumentException("loadFactor must be positive");
+        }
+        this.loadFactor = loadFactor;
+        allocateBuckets(tableSizeFor(initialCapacity));
+        arena = newArena(MIN_ARENA);
+        top = 0;
+        garbage = 0;
+        size = 0;
+    }
+
+    /**
+     * used to insert elements into hash table, replacing the value of
+     * an existing key
+     * param: key, value (neither may be null)
+     * returns: value associated with key
+     */
+    @Override
+    public String put(String key, String value) {
+        if(key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key.hashCode());
+        //the old record is dropped and a new one appended at the end of the arena
+        if(unlink(hash, key) != NONE) {
+            size--;
+            if(garbage > MIN_ARENA && garbage > top / 2) {
+                compact();
+            }
+        }
+        if(size >= threshold && heads.length < MAX_CAPACITY) {
+            rehash(heads.length * 2);
+        }
+        int record = append(hash, key, value);
+        int index = hash & mask;
+        arena.putInt(record + NEXT, heads[index]);
+        heads[index] = record;
+        size++;
+        return value;
+    }
+
+    /**
+     * gets the value associated with key
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    @Override
+    public String get(String key) {
+        int record = find(spread(key.hashCode()), key);
+        if(record == NONE) {
+            throw new NoSuchElementException();
+        }
+        return readValue(record);
+    }
+
+    /**
+     * gets the value associated with key, or defaultValue if key has no mapping
+     * params: key, defaultValue
+     */
+    @Override
+    public String getOrDefault(String key, String defaultValue) {
+        int record = find(spread(key.hashCode()), key);
+        return record == NONE ? defaultValue : readValue(record);
+    }
+
+    /**
+     * decodes every entry and passes it to action
+     * param: action
+     */
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        for(int i = 0; i < heads.length; i++) {
+            for(int record = heads[i]; record != NONE; record = arena.getInt(record + NEXT)) {
+                action.accept(readKey(record), readValue(record));
+            }
+        }
+    }
+
+    /**
+     * removes entry associated with key
+     * params: key
+     * returns: value of key that was removed, null if key had no mapping
+     */
+    @Override
+    public String remove(String key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int record = unlink(spread(key.hashCode()), key);
+        if(record == NONE) {
+            return null;
+        }
+        size--;
+        String value = readValue(record);
+        if(garbage > MIN_ARENA && garbage > top / 2) {
+            compact();
+        }
+        return value;
+    }
+
+    /**
+     * clears the hash table, keeping the arena for reuse
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        top = 0;
+        garbage = 0;
+        size = 0;
+    }
+
+    /**
+     * checks to see if hash table is empty
+     * returns: true if is empty otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * returns: number of off-heap bytes held by live and removed records
+     */
+    public long arenaBytesUsed() {
+        return top;
+    }
+
+    /**
+     * returns: offset of the record holding key, or NONE
+     */
+    private int find(int hash, String key) {
+        int record = heads[hash & mask];
+        while(record != NONE) {
+            if(arena.getInt(record + HASH) == hash && keyEquals(record, key)) {
+                return record;
+            }
+            record = arena.getInt(record + NEXT);
+        }
+        return NONE;
+    }
+
+    /**
+     * removes the record holding key from its chain
+     * returns: offset of the removed record, or NONE if key is not present
+     */
+    private int unlink(int hash, String key) {
+        int index = hash & mask;
+        int prev = NONE;
+        int record = heads[index];
+        while(record != NONE) {
+            int next = arena.getInt(record + NEXT);
+            if(arena.getInt(record + HASH) == hash && keyEquals(record, key)) {
+                if(prev == NONE) {
+                    heads[index] = next;
+                } else {
+                    arena.putInt(prev + NEXT, next);
+                }
+                garbage += recordLength(record);
+                return record;
+            }
+            prev = record;
+            record = next;
+        }
+        return NONE;
+    }
+
+    /**
+     * compares the key stored in record with key without decoding it
+     */
+    private boolean keyEquals(int record, String key) {
+        int header = arena.getInt(record + KEY_HEADER);
+        int length = header >>> 1;
+        if(length != key.length()) {
+            return false;
+        }
+        int pos = record + RECORD_HEADER;
+        if(isLatin1(header)) {
+            for(int i = 0; i < length; i++) {
+                if((arena.get(pos + i) & 0xff) != key.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            for(int i = 0; i < length; i++) {
+                if(arena.getChar(pos + 2 * i) != key.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * writes a new record at the end of the arena
+     * returns: offset of the record
+     */
+    private int append(int hash, String key, String value) {
+        int keyHeader = headerFor(key);
+        int valueHeader = headerFor(value);
+        int length = RECORD_HEADER + byteLength(keyHeader) + byteLength(valueHeader);
+        ensureArena(length);
+        int record = top;
+        arena.putInt(record + HASH, hash);
+        arena.putInt(record + NEXT, NONE);
+        arena.putInt(record + KEY_HEADER, keyHeader);
+        arena.putInt(record + VALUE_HEADER, valueHeader);
+        int pos = writeChars(record + RECORD_HEADER, key, keyHeader);
+        writeChars(pos, value, valueHeader);
+        top += length;
+        return record;
+    }
+
+    /**
+     * stores the characters of s at pos, one byte each if they all fit
+     * returns: position after the last byte written
+     */
+    private int writeChars(int pos, String s, int header) {
+        int length = s.length();
+        if(isLatin1(header)) {
+            for(int i = 0; i < length; i++) {
+                arena.put(pos + i, (byte) s.charAt(i));
+            }
+            return pos + length;
+        }
+        for(int i = 0; i < length; i++) {
+            arena.putChar(pos + 2 * i, s.charAt(i));
+        }
+        return pos + 2 * length;
+    }
+
+    /**
+     * decodes the key stored in record
+     */
+    private String readKey(int record) {
+        return readString(record + RECORD_HEADER, arena.getInt(record + KEY_HEADER));
+    }
+
+    /**
+     * decodes the value stored in record
+     */
+    private String readValue(int record) {
+        int keyHeader = arena.getInt(record + KEY_HEADER);
+        return readString(record + RECORD_HEADER + byteLength(keyHeader), arena.getInt(record + VALUE_HEADER));
+    }
+
+    /**
+     * decodes the characters at pos described by header
+     */
+    private String readString(int pos, int header) {
+        int length = header >>> 1;
+        if(isLatin1(header)) {
+            byte[] bytes = new byte[length];
+            for(int i = 0; i < length; i++) {
+                bytes[i] = arena.get(pos + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        for(int i = 0; i < length; i++) {
+            chars[i] = arena.getChar(pos + 2 * i);
+        }
+        return new String(chars);
+    }
+
+    private int recordLength(int record) {
+        return RECORD_HEADER + byteLength(arena.getInt(record + KEY_HEADER))
+                + byteLength(arena.getInt(record + VALUE_HEADER));
+    }
+
+    /**
+     * grows the arena so that length more bytes fit after top
+     */
+    private void ensureArena(int length) {
+        long needed = (long) top + length;
+        if(needed <= arena.capacity()) {
+            return;
+        }
+        if(needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("OffHeapHashTable arena is full");
+        }
+        long capacity = Math.max((long) arena.capacity() * 2, needed);
+        ByteBuffer larger = newArena((int) Math.min(capacity, Integer.MAX_VALUE));
+        ByteBuffer used = arena.duplicate();
+        used.position(0).limit(top);
+        larger.put(used);
+        arena = larger;
+    }
+
+    /**
+     * copies the live records into a fresh arena, dropping removed ones
+     */
+    private void compact() {
+        ByteBuffer old = arena;
+        arena = newArena(Math.max(top - garbage, MIN_ARENA));
+        top = 0;
+        garbage = 0;
+        for(int i = 0; i < heads.length; i++) {
+            int prevCopy = NONE;
+            int record = heads[i];
+            while(record != NONE) {
+                int length = RECORD_HEADER + byteLength(old.getInt(record + KEY_HEADER))
+                        + byteLength(old.getInt(record + VALUE_HEADER));
+                ByteBuffer source = old.duplicate();
+                source.position(record).limit(record + length);
+                int copy = top;
+                arena.position(copy);
+                arena.put(source);
+                arena.position(0);
+                top += length;
+                arena.putInt(copy + NEXT, NONE);
+                if(prevCopy == NONE) {
+                    heads[i] = copy;
+                } else {
+                    arena.putInt(prevCopy + NEXT, copy);
+                }
+                prevCopy = copy;
+                record = old.getInt(record + NEXT);
+            }
+        }
+    }
+
+    /**
+     * moves every record into a bucket array of the given capacity. Only
+     * the next offsets change, the records stay where they are
+     */
+    private void rehash(int capacity) {
+        int[] oldHeads = heads;
+        allocateBuckets(capacity);
+        for(int i = 0; i < oldHeads.length; i++) {
+            int record = oldHeads[i];
+            while(record != NONE) {
+                int next = arena.getInt(record + NEXT);
+                int index = arena.getInt(record + HASH) & mask;
+                arena.putInt(record + NEXT, heads[index]);
+                heads[index] = record;
+                record = next;
+            }
+        }
+    }
+
+    private void allocateBuckets(int capacity) {
+        heads = new int[capacity];
+        Arrays.fill(heads, NONE);
+        mask = capacity - 1;
+        threshold = capacity >= MAX_CAPACITY ? Integer.MAX_VALUE : (int) (capacity * loadFactor);
+    }
+
+    private static ByteBuffer newArena(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * header of a stored string: its length shifted left by one, with the
+     * low bit set when every character fits in one byte
+     */
+    private static int headerFor(String s) {
+        for(int i = 0; i < s.length(); i++) {
+            if(s.charAt(i) > 0xff) {
+                return s.length() << 1;
+            }
+        }
+        return (s.length() << 1) | 1;
+    }
+
+    private static boolean isLatin1(int header) {
+        return (header & 1) != 0;
+    }
+
+    private static int byteLength(int header) {
+        return isLatin1(header) ? header >>> 1 : header & ~1;
+    }
+
+    /**
+     * mixes the high bits of the hash code into the low bits used to pick
+     * a bucket
+     */
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * returns: smallest power of two that is at least capacity
+     */
+    private static int tableSizeFor(int capacity) {
+        if(capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1, 2);
+    }
+}
@@ -1,5 +1,6 @@
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Interface for implementing the Performance analysis across data structures
@@ -37,6 +38,15 @@ public interface PerformanceAnalysis {
      */
     void compareSearch();
 
+    /**
+     * Measures insertion, search and deletion of every structure in the
+     * registry that accepts the keys of each test file
+     *
+     * @param registry: The structures to compare
+     * @return one result per file, structure and operation
+     */
+    List<BenchmarkResult> compareRegistered(TableRegistry registry);
+
     /**
      *
      * @param filename: Loads the data from the test file to local data structure
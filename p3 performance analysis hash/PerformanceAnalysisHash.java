@@ -9,22 +9,57 @@
  */
 
 import java.io.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import javax.management.JMException;
 
 public class PerformanceAnalysisHash implements PerformanceAnalysis {
+    //number of searches each thread does per insert in the throughput mode
+    private static final int READS_PER_WRITE = 4;
+    //runs of each scan in the scan and hashing comparisons, the fastest is printed
+    private static final int SCAN_ROUNDS = 5;
+    //times every other key is removed and put back in the indexed comparison
+    private static final int CHURN_ROUNDS = 10;
     //hash table used for performance analysis
-    HashTable hash;
+    HashTableADT hash;
+    //name printed for the hash table in the results
+    private String hashName = "HASHTABLE";
     //tree map used for performance analysis
     TreeMap tree;
-    // The input data from each file is stored in this/ per file
-    private ArrayList<String> inputData;
+    //primitive hash table used for performance analysis of integer files
+    IntIntHashTable intHash;
+    //open addressing hash table with grouped probing used for performance analysis
+    SwissHashTable<Object, Object> swiss;
+    // The keys of each file, parsed once when the file is loaded
+    private Object[] keys;
+    // The keys of an integer file as primitives, null for a text file
+    private int[] intKeys;
     //stores the list of text files for input
     private ArrayList<String> input = new ArrayList<String>();
     //used to determine if input file is list of strings or integers
     private boolean isInteger = true;
+    //if true string files are measured with the off-heap hash table
+    private boolean offHeapStrings = false;
+    //hash table statistics of each file, printed by printReport
+    private ArrayList<String> report = new ArrayList<String>();
     
     /**
      * empty constructor not used
@@ -51,6 +86,15 @@ public class PerformanceAnalysisHash implements PerformanceAnalysis {
         }
     }
     
+    /**
+     * selects the hash table measured on string files
+     * param: offHeapStrings -> if true string files use OffHeapHashTable,
+     *        which keeps keys and values outside the Java heap
+     */
+    public void setOffHeapStrings(boolean offHeapStrings) {
+        this.offHeapStrings = offHeapStrings;
+    }
+
     /**
      * loads data and calls insertion, search, and deletion methods
      */
@@ -65,23 +109,709 @@ public class PerformanceAnalysisHash implements PerformanceAnalysis {
             }
             if(isInteger) {
                 hash = new HashTable<Integer, Integer>(100, 0.75);
+                hashName = "HASHTABLE";
                 tree = new TreeMap<Integer, Integer>();
+                intHash = new IntIntHashTable(100, 0.75);
+                swiss = new SwissHashTable<Object, Object>(100, 0.75);
             } else {
-                hash = new HashTable<String, String>(100, 0.75);
+                if(offHeapStrings) {
+                    hash = new OffHeapHashTable(100, 0.75);
+                    hashName = "OFFHEAPHASHTABLE";
+                } else {
+                    hash = new HashTable<String, String>(100, 0.75);
+                    hashName = "HASHTABLE";
+                }
                 tree = new TreeMap<String, String>();
+                swiss = new SwissHashTable<Object, Object>(100, 0.75);
             }
             System.out.println("FileName: " + input.get(i));
             compareInsertion();
             compareSearch();
             compareDeletion();
+            if(hash instanceof HashTable) {
+                collectStats(input.get(i));
+            }
         }
     }
+
+    /**
+     * repeats the insertion, search and deletion of the loaded keys on a
+     * separate HashTable that collects statistics, so the timed tables
+     * pay nothing for them, and adds the statistics to the report
+     * param: fileName -> names the statistics MBean
+     */
+    private void collectStats(String fileName) {
+        HashTable<Object, Object> table = new HashTable<Object, Object>(100, 0.75);
+        HashTableStats stats = table.enableStats();
+        try {
+            stats.register(fileName);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+        for(int j = 0; j < keys.length; j++) {
+            table.put(keys[j], keys[j]);
+        }
+        for(int j = 0; j < keys.length; j++) {
+            table.get(keys[j]);
+        }
+        //the table is full at this point, after deletion it is empty
+        String shape = stats.describeShape();
+        for(int j = 0; j < keys.length; j++) {
+            table.remove(keys[j]);
+        }
+        report.add("FileName: " + fileName + "\n" + shape + "\n" + stats.describeCounters());
+        table.disableStats();
+    }
     
     /**
-     * not used
+     * measures operations per second of the concurrent hash table against
+     * ConcurrentHashMap and ConcurrentSkipListMap using 1 up to maxThreads
+     * threads. Each thread inserts its own slice of the file and then
+     * searches that slice READS_PER_WRITE times
+     * param: maxThreads
+     */
+    public void compareConcurrentThroughput(int maxThreads) {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i));
+            for(int threads = 1; threads <= maxThreads; threads++) {
+                measureThroughput("CONCURRENTHASHTABLE",
+                        new ConcurrentHashTable<Object, Object>(100, 0.75), keys, threads);
+                measureThroughput("CONCURRENTHASHMAP", new MapAdapter<Object, Object>(
+                        new ConcurrentHashMap<Object, Object>(100, 0.75f)), keys, threads);
+                measureThroughput("CONCURRENTSKIPLISTMAP", new MapAdapter<Object, Object>(
+                        new ConcurrentSkipListMap<Object, Object>()), keys, threads);
+            }
+        }
+    }
+
+    /**
+     * runs the throughput workload against table with the given number
+     * of threads and prints operations per second
+     * param: name, table, keys, threads
+     */
+    private void measureThroughput(String name, HashTableADT<Object, Object> table,
+            Object[] keys, int threads) {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for(int t = 0; t < threads; t++) {
+            int from = (int) ((long) keys.length * t / threads);
+            int to = (int) ((long) keys.length * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for(int k = from; k < to; k++) {
+                    table.put(keys[k], keys[k]);
+                }
+                for(int r = 0; r < READS_PER_WRITE; r++) {
+                    for(int k = from; k < to; k++) {
+                        table.get(keys[k]);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for(Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long stopTime = System.nanoTime();
+        long operations = (long) keys.length * (1 + READS_PER_WRITE);
+        long opsPerSecond = (long) (operations / ((stopTime - startTime) / 1e9));
+        System.out.print("Operation: THROUGHPUT | Data Stucture: " + name + " | Threads: " + threads
+                + " | Ops/sec: " + opsPerSecond + "\n");
+    }
+
+    /**
+     * compares the batch operations of HashTable (putAll, getAll,
+     * removeAll) with calling put, get and remove once per key, on every
+     * data file
+     */
+    public void compareBatchOperations() {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            Object[] results = new Object[keys.length];
+            System.out.println("FileName: " + input.get(i));
+
+            HashTable<Object, Object> single = new HashTable<Object, Object>(100, 0.75);
+            long startTime = System.currentTimeMillis();
+            for(int j = 0; j < keys.length; j++) {
+                single.put(keys[j], keys[j]);
+            }
+            printBatchResult("PUT", "SINGLE", startTime);
+            startTime = System.currentTimeMillis();
+            for(int j = 0; j < keys.length; j++) {
+                results[j] = single.get(keys[j]);
+            }
+            printBatchResult("SEARCH", "SINGLE", startTime);
+            startTime = System.currentTimeMillis();
+            for(int j = 0; j < keys.length; j++) {
+                single.remove(keys[j]);
+            }
+            printBatchResult("DELETE", "SINGLE", startTime);
+
+            HashTable<Object, Object> batch = new HashTable<Object, Object>(100, 0.75);
+            startTime = System.currentTimeMillis();
+            batch.putAll(keys, keys);
+            printBatchResult("PUT", "BATCH", startTime);
+            startTime = System.currentTimeMillis();
+            batch.getAll(keys, results);
+            printBatchResult("SEARCH", "BATCH", startTime);
+            startTime = System.currentTimeMillis();
+            batch.removeAll(keys);
+            printBatchResult("DELETE", "BATCH", startTime);
+        }
+    }
+
+    /**
+     * prints the time taken by one operation of the batch comparison
+     * param: operation, mode, startTime
+     */
+    private void printBatchResult(String operation, String mode, long startTime) {
+        long stopTime = System.currentTimeMillis();
+        System.out.print("Operation: " + operation + " | Data Stucture: HASHTABLE | Mode: " + mode
+                + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+    }
+
+    /**
+     * compares the hash strategies HashTable can pick buckets with on
+     * every data file. For each strategy it prints the chi-squared
+     * statistic of bucket occupancy against an even spread (divided by
+     * the degrees of freedom it is about 1 for a random hash, lower is
+     * more even), the longest chain and the best lookup throughput of
+     * SCAN_ROUNDS runs over every key
+     */
+    public void compareHashStrategies() {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i));
+            HashStrategy[] strategies = {HashStrategy.identityModulo(), HashStrategy.fibonacci(),
+                    HashStrategy.murmur3(), HashStrategy.seeded()};
+            for(HashStrategy strategy : strategies) {
+                HashTable<Object, Object> table = new HashTable<Object, Object>(100, 0.75, false, strategy);
+                for(int j = 0; j < keys.length; j++) {
+                    table.put(keys[j], keys[j]);
+                }
+                long[] histogram = table.chainLengthHistogram();
+                int capacity = table.capacity();
+                double expected = (double) table.size() / capacity;
+                double chiSquared = 0;
+                for(int length = 0; length < histogram.length; length++) {
+                    chiSquared += histogram[length] * (length - expected) * (length - expected) / expected;
+                }
+                long best = Long.MAX_VALUE;
+                for(int round = 0; round < SCAN_ROUNDS; round++) {
+                    long startTime = System.nanoTime();
+                    for(int j = 0; j < keys.length; j++) {
+                        table.getOrDefault(keys[j], null);
+                    }
+                    best = Math.min(best, System.nanoTime() - startTime);
+                }
+                long opsPerSecond = (long) (keys.length / (best / 1e9));
+                System.out.print("Operation: HASHING | Data Stucture: HASHTABLE | Strategy: " + strategy.name()
+                        + " | Capacity: " + capacity + " | Chi-Squared: " + String.format("%.1f", chiSquared)
+                        + " | Chi-Squared/df: " + String.format("%.3f", chiSquared / Math.max(1, capacity - 1))
+                        + " | Max Chain: " + (histogram.length - 1) + " | Ops/sec: " + opsPerSecond + "\n");
+            }
+        }
+    }
+
+    /**
+     * compares HashTable, which allocates a HashNode per entry, with
+     * IndexedHashTable, which keeps its entries in parallel arrays, on
+     * every data file. Prints the heap used per entry and the garbage
+     * collections, collection time and bytes allocated while the table is
+     * filled, half emptied and refilled CHURN_ROUNDS times
+     */
+    public void compareIndexed() {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i));
+            runChurn("HASHTABLE", () -> new HashTable<Object, Object>(100, 0.75));
+            runChurn("INDEXEDHASHTABLE", () -> new IndexedHashTable<Object, Object>(100, 0.75));
+        }
+    }
+
+    /**
+     * fills a new table with every key, measures its memory, then removes
+     * and puts back every other key CHURN_ROUNDS times and prints the
+     * results
+     * param: name, factory
+     */
+    private void runChurn(String name, Supplier<HashTableADT<Object, Object>> factory) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        usedMemory();
+        long gcCount = gcCount();
+        long gcTime = gcTime();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long startTime = System.nanoTime();
+        HashTableADT<Object, Object> table = factory.get();
+        for(int j = 0; j < keys.length; j++) {
+            table.put(keys[j], keys[j]);
+        }
+        for(int round = 0; round < CHURN_ROUNDS; round++) {
+            for(int j = round & 1; j < keys.length; j += 2) {
+                table.remove(keys[j]);
+            }
+            for(int j = round & 1; j < keys.length; j += 2) {
+                table.put(keys[j], keys[j]);
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+        gcCount = gcCount() - gcCount;
+        gcTime = gcTime() - gcTime;
+        int entries = table.size();
+        long withTable = usedMemory();
+        //the compiler could otherwise treat table as garbage before it is measured
+        Reference.reachabilityFence(table);
+        table = null;
+        long bytes = withTable - usedMemory();
+        System.out.print("Operation: CHURN | Data Stucture: " + name + " | Entries: " + entries
+                + " | Bytes/Entry: " + String.format("%.1f", entries == 0 ? 0.0 : (double) bytes / entries)
+                + " | Allocated(MB): " + allocated / (1 << 20) + " | GC Count: " + gcCount
+                + " | GC Time(ms): " + gcTime + " | Time Taken(ms): " + elapsed / 1_000_000 + "\n");
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    /**
+     * compares storing the keys of each data file as a set: in a
+     * HashTable with every key also used as its value, in a HashTableSet
+     * and in a java.util.HashSet. Prints the heap used per key, the time
+     * to add every key and the time to look every key up
+     */
+    public void compareSets() {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i));
+            runSet("HASHTABLE", () -> new HashTable<Object, Object>(100, 0.75), (table, key) -> table.put(key, key),
+                    (table, key) -> table.getOrDefault(key, null) != null, HashTable::size);
+            runSet("HASHTABLESET", () -> new HashTableSet<Object>(100, 0.75), HashTableSet::add,
+                    HashTableSet::contains, HashTableSet::size);
+            runSet("HASHSET", () -> new HashSet<Object>(100, 0.75f), HashSet::add, HashSet::contains, HashSet::size);
+        }
+    }
+
+    /**
+     * adds every key of the current file to a new set, then looks every
+     * key up and prints the results. The memory of the set is the heap
+     * released by dropping it, which does not depend on what the previous
+     * structure left behind
+     * param: name, factory, add, contains, size
+     */
+    private <S> void runSet(String name, Supplier<S> factory, BiConsumer<S, Object> add,
+            BiPredicate<S, Object> contains, ToIntFunction<S> size) {
+        long startTime = System.nanoTime();
+        S set = factory.get();
+        for(int j = 0; j < keys.length; j++) {
+            add.accept(set, keys[j]);
+        }
+        long addTime = System.nanoTime() - startTime;
+        long withSet = usedMemory();
+        Reference.reachabilityFence(set);
+        startTime = System.nanoTime();
+        int found = 0;
+        for(int j = 0; j < keys.length; j++) {
+            if(contains.test(set, keys[j])) {
+                found++;
+            }
+        }
+        long searchTime = System.nanoTime() - startTime;
+        int keyCount = size.applyAsInt(set);
+        set = null;
+        long bytes = withSet - usedMemory();
+        System.out.print("Operation: SET | Data Stucture: " + name + " | Keys: " + keyCount
+                + " | Bytes/Key: " + String.format("%.1f", keyCount == 0 ? 0.0 : (double) bytes / keyCount)
+                + " | Add(ms): " + addTime / 1_000_000 + " | Search(ms): " + searchTime / 1_000_000
+                + " | Found: " + found + "\n");
+    }
+
+    /**
+     * compares full scans of a HashTable holding every key of each data
+     * file: forEach, the reusable cursor, a sequential stream and a
+     * parallel stream. Each scan adds up the hash codes of the values so
+     * it can not be optimized away, and the best of SCAN_ROUNDS runs is
+     * printed
+     */
+    public void compareScans() {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i));
+            HashTable<Object, Object> table = new HashTable<Object, Object>(100, 0.75);
+            for(int j = 0; j < keys.length; j++) {
+                table.put(keys[j], keys[j]);
+            }
+            long[] best = new long[4];
+            long[] sums = new long[4];
+            Arrays.fill(best, Long.MAX_VALUE);
+            HashTable<Object, Object>.Cursor cursor = table.cursor();
+            for(int round = 0; round < SCAN_ROUNDS; round++) {
+                long startTime = System.nanoTime();
+                long[] total = new long[1];
+                table.forEach((key, value) -> total[0] += value.hashCode());
+                best[0] = Math.min(best[0], System.nanoTime() - startTime);
+                sums[0] = total[0];
+
+                startTime = System.nanoTime();
+                long sum = 0;
+                cursor.reset();
+                while(cursor.next()) {
+                    sum += cursor.value().hashCode();
+                }
+                best[1] = Math.min(best[1], System.nanoTime() - startTime);
+                sums[1] = sum;
+
+                startTime = System.nanoTime();
+                sums[2] = table.stream(false).mapToLong(e -> e.getValue().hashCode()).sum();
+                best[2] = Math.min(best[2], System.nanoTime() - startTime);
+
+                startTime = System.nanoTime();
+                sums[3] = table.stream(true).mapToLong(e -> e.getValue().hashCode()).sum();
+                best[3] = Math.min(best[3], System.nanoTime() - startTime);
+            }
+            String[] modes = {"FOREACH", "CURSOR", "STREAM", "PARALLEL"};
+            for(int m = 0; m < modes.length; m++) {
+                System.out.print("Operation: SCAN | Data Stucture: HASHTABLE | Mode: " + modes[m]
+                        + " | Entries: " + table.size() + " | Checksum: " + sums[m]
+                        + " | Time Taken(us): " + best[m] / 1000 + "\n");
+            }
+        }
+    }
+
+    /**
+     * measures put, get and remove of every key with each structure in
+     * registry that accepts the file's keys, after one untimed warmup
+     * round. Memory is the heap used by the full structure divided by its
+     * number of entries
+     */
+    @Override
+    public List<BenchmarkResult> compareRegistered(TableRegistry registry) {
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i));
+            for(String name : registry.namesFor(isInteger)) {
+                //one untimed round so the JIT has compiled the structure's code
+                HashTableADT<Object, Object> warmup = registry.create(name, 100, 0.75);
+                for(int j = 0; j < keys.length; j++) {
+                    warmup.put(keys[j], keys[j]);
+                }
+                for(int j = 0; j < keys.length; j++) {
+                    warmup.get(keys[j]);
+                    warmup.remove(keys[j]);
+                }
+                warmup = null;
+                long before = usedMemory();
+                HashTableADT<Object, Object> table = registry.create(name, 100, 0.75);
+                long startTime = System.nanoTime();
+                for(int j = 0; j < keys.length; j++) {
+                    table.put(keys[j], keys[j]);
+                }
+                long putTime = System.nanoTime() - startTime;
+                double bytesPerEntry = table.size() == 0 ? 0
+                        : (double) (usedMemory() - before) / table.size();
+                startTime = System.nanoTime();
+                for(int j = 0; j < keys.length; j++) {
+                    table.get(keys[j]);
+                }
+                long getTime = System.nanoTime() - startTime;
+                startTime = System.nanoTime();
+                for(int j = 0; j < keys.length; j++) {
+                    table.remove(keys[j]);
+                }
+                long removeTime = System.nanoTime() - startTime;
+                results.add(registeredResult(input.get(i), name, "PUT", putTime, bytesPerEntry));
+                results.add(registeredResult(input.get(i), name, "SEARCH", getTime, bytesPerEntry));
+                results.add(registeredResult(input.get(i), name, "DELETE", removeTime, bytesPerEntry));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * builds the result of one timed loop over every key and prints it
+     */
+    private BenchmarkResult registeredResult(String file, String name, String operation, long nanos,
+            double bytesPerEntry) {
+        BenchmarkResult result = new BenchmarkResult(file, name, operation, keys.length,
+                keys.length / (nanos / 1e9), (double) nanos / keys.length, bytesPerEntry);
+        System.out.print("Operation: " + operation + " | Data Stucture: " + name + " | Ops/sec: "
+                + (long) result.opsPerSec + " | Latency(ns): " + String.format("%.1f", result.nsPerOp)
+                + " | Bytes/Entry: " + String.format("%.1f", bytesPerEntry) + "\n");
+        return result;
+    }
+
+    /**
+     * returns: heap in use after asking for garbage collections until the
+     *          heap stops shrinking, at most five times
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for(int i = 0; i < 5; i++) {
+            runtime.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if(now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    /**
+     * replays the operation stream of workload against HashTable, TreeMap,
+     * SwissHashTable and, for integer files, IntIntHashTable. Every
+     * structure starts with the same preloaded keys and runs the same
+     * operations, so the number of hits printed for each must match
+     * param: workload
+     */
+    public void compareWorkload(Workload workload) {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i) + " | Workload: " + workload);
+            Workload.Stream stream = workload.generate(keys.length);
+            runWorkload("HASHTABLE", new HashTable<Object, Object>(100, 0.75), keys, stream);
+            runWorkload("TREEMAP", new MapAdapter<Object, Object>(new TreeMap<Object, Object>()), keys, stream);
+            runWorkload("SWISSHASHTABLE", new SwissHashTable<Object, Object>(100, 0.75), keys, stream);
+            if(isInteger) {
+                Integer[] integerKeys = Arrays.copyOf(keys, keys.length, Integer[].class);
+                runWorkload("INTINTHASHTABLE", new IntIntHashTable(100, 0.75), integerKeys, stream);
+            }
+        }
+    }
+
+    /**
+     * loads the first half of the keys into table and then times one
+     * replay of stream
+     * param: name, table, tableKeys -> the loaded keys, typed for table
+     * param: stream
+     */
+    private <K> void runWorkload(String name, HashTableADT<K, K> table, K[] tableKeys, Workload.Stream stream) {
+        for(int j = 0; j < Workload.preloadCount(tableKeys.length); j++) {
+            table.put(tableKeys[j], tableKeys[j]);
+        }
+        byte[] ops = stream.ops;
+        int[] keyIndexes = stream.keyIndexes;
+        long hits = 0;
+        long startTime = System.nanoTime();
+        for(int j = 0; j < ops.length; j++) {
+            K key = tableKeys[keyIndexes[j]];
+            switch(ops[j]) {
+                case Workload.READ:
+                    if(table.getOrDefault(key, null) != null) {
+                        hits++;
+                    }
+                    break;
+                case Workload.WRITE:
+                    table.put(key, key);
+                    break;
+                default:
+                    table.remove(key);
+                    break;
+            }
+        }
+        long stopTime = System.nanoTime();
+        long opsPerSecond = (long) (ops.length / ((stopTime - startTime) / 1e9));
+        System.out.print("Operation: WORKLOAD | Data Stucture: " + name + " | Ops/sec: " + opsPerSecond
+                + " | Hits: " + hits + " | Time Taken(ms): " + (stopTime - startTime) / 1_000_000 + "\n");
+    }
+
+    /**
+     * measures hit rate and throughput of BoundedCache with LRU and
+     * W-TinyLFU eviction. Every read of workload is a cache lookup, and a
+     * miss loads the key into the cache, as a memoizing caller would. Each
+     * policy is run with room for 1% and 10% of the keys the reads use
+     * param: workload -> normally read only with a skewed distribution
+     */
+    public void compareCaches(Workload workload) {
+        for(int i = 0; i < input.size(); i++) {
+            try {
+                loadData("./data/" + input.get(i));
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            System.out.println("FileName: " + input.get(i) + " | Workload: " + workload);
+            Workload.Stream stream = workload.generate(keys.length);
+            int keySpace = Workload.preloadCount(keys.length);
+            for(double share : new double[] {0.01, 0.1}) {
+                long maximumSize = Math.max(1, (long) (keySpace * share));
+                runCache("LRU", BoundedCache.<Object, Object>lru(maximumSize), stream);
+                runCache("TINYLFU", BoundedCache.<Object, Object>tinyLfu(maximumSize), stream);
+            }
+        }
+    }
+
+    /**
+     * replays the reads of stream against cache and prints the results
+     */
+    private void runCache(String policy, BoundedCache<Object, Object> cache, Workload.Stream stream) {
+        byte[] ops = stream.ops;
+        int[] keyIndexes = stream.keyIndexes;
+        long startTime = System.nanoTime();
+        for(int j = 0; j < ops.length; j++) {
+            Object key = keys[keyIndexes[j]];
+            if(ops[j] == Workload.READ) {
+                if(cache.getOrDefault(key, null) == null) {
+                    cache.put(key, key);
+                }
+            } else if(ops[j] == Workload.WRITE) {
+                cache.put(key, key);
+            } else {
+                cache.remove(key);
+            }
+        }
+        long stopTime = System.nanoTime();
+        long opsPerSecond = (long) (ops.length / ((stopTime - startTime) / 1e9));
+        System.out.print("Operation: CACHE | Data Stucture: BOUNDEDCACHE | Policy: " + policy
+                + " | Maximum Size: " + cache.getMaximumWeight() + " | Hit Rate: "
+                + String.format("%.4f", cache.hitRate()) + " | Evictions: " + cache.getEvictions()
+                + " | Ops/sec: " + opsPerSecond + "\n");
+    }
+
+    /**
+     * compares the time to get a usable HashTable from each data file by
+     * reading and inserting the text, by reloading a snapshot onto the
+     * heap, and by memory mapping the snapshot. The first search of every
+     * key is timed too, since the mapped table pays for its page faults there
+     */
+    public void compareStartup() {
+        for(int i = 0; i < input.size(); i++) {
+            String fileName = "./data/" + input.get(i);
+            System.out.println("FileName: " + input.get(i));
+            try {
+                long startTime = System.currentTimeMillis();
+                loadData(fileName);
+                HashTable<Object, Object> text = new HashTable<Object, Object>(100, 0.75);
+                for(int j = 0; j < keys.length; j++) {
+                    text.put(keys[j], keys[j]);
+                }
+                printStartupResult("LOAD", "TEXT", startTime);
+
+                Path snapshot = Files.createTempFile("hashtable", ".snap");
+                try {
+                    startTime = System.currentTimeMillis();
+                    HashTableSnapshot.write(text, snapshot);
+                    printStartupResult("WRITE", "SNAPSHOT", startTime);
+
+                    startTime = System.currentTimeMillis();
+                    HashTable<Object, Object> heap = HashTableSnapshot.load(snapshot);
+                    printStartupResult("LOAD", "SNAPSHOT", startTime);
+                    startTime = System.currentTimeMillis();
+                    searchAll(heap);
+                    printStartupResult("SEARCH", "SNAPSHOT", startTime);
+
+                    startTime = System.currentTimeMillis();
+                    MappedHashTable<Object, Object> mapped = MappedHashTable.open(snapshot);
+                    printStartupResult("LOAD", "MAPPED", startTime);
+                    startTime = System.currentTimeMillis();
+                    searchAll(mapped);
+                    printStartupResult("SEARCH", "MAPPED", startTime);
+                } finally {
+                    Files.deleteIfExists(snapshot);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * searches table for every key of the current file
+     */
+    private void searchAll(HashTableADT<Object, Object> table) {
+        for(int j = 0; j < keys.length; j++) {
+            table.get(keys[j]);
+        }
+    }
+
+    /**
+     * prints the time taken by one step of the startup comparison
+     * param: operation, source, startTime
+     */
+    private void printStartupResult(String operation, String source, long startTime) {
+        long stopTime = System.currentTimeMillis();
+        System.out.print("Operation: " + operation + " | Data Stucture: HASHTABLE | Source: " + source
+                + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+    }
+
+    /**
+     * prints the statistics collected from the hash table of each file by
+     * compareDataStructures
      */
     @Override
     public void printReport() {
+        System.out.println("HashTable Statistics");
+        for(String entry : report) {
+            System.out.println(entry);
+        }
     }
     
     /**
@@ -93,35 +823,43 @@ public class PerformanceAnalysisHash implements PerformanceAnalysis {
         //get and store memory and time usage of the hash table insertion
         Runtime runtime = Runtime.getRuntime();
         long startTime = System.currentTimeMillis();
-        for(int i = 0; i < inputData.size(); i++) {
-            if(isInteger) {
-                hash.put(Integer.parseInt(inputData.get(i)), 
-                        Integer.parseInt(inputData.get(i)));
-            } else {
-                hash.put(inputData.get(i), 
-                        inputData.get(i));
-            }
+        for(int i = 0; i < keys.length; i++) {
+            hash.put(keys[i], keys[i]);
         }
         long stopTime = System.currentTimeMillis();
         runtime.gc();
-        System.out.print("Operation: PUT | Data Stucture: HASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+        System.out.print("Operation: PUT | Data Stucture: " + hashName + " | Bytes Used: " + (runtime.totalMemory() -
                 runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
         //get and store memory and time usage of the tree map insertion
         runtime = Runtime.getRuntime();
         startTime = System.currentTimeMillis();
-        for(int i = 0; i < inputData.size(); i++) {
-            if(isInteger) {
-                tree.put(Integer.parseInt(inputData.get(i)), 
-                        Integer.parseInt(inputData.get(i)));
-            } else {
-                tree.put(inputData.get(i), 
-                        inputData.get(i));
-            }
+        for(int i = 0; i < keys.length; i++) {
+            tree.put(keys[i], keys[i]);
         }
         stopTime = System.currentTimeMillis();
         runtime.gc();
         System.out.print("Operation: PUT | Data Stucture: TREEMAP | Bytes Used: " + (runtime.totalMemory() -
                 runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        //get and store memory and time usage of the grouped probing hash table insertion
+        startTime = System.currentTimeMillis();
+        for(int i = 0; i < keys.length; i++) {
+            swiss.put(keys[i], keys[i]);
+        }
+        stopTime = System.currentTimeMillis();
+        runtime.gc();
+        System.out.print("Operation: PUT | Data Stucture: SWISSHASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+                runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        if(isInteger) {
+            //get and store memory and time usage of the primitive hash table insertion
+            startTime = System.currentTimeMillis();
+            for(int i = 0; i < keys.length; i++) {
+                intHash.put(intKeys[i], intKeys[i]);
+            }
+            stopTime = System.currentTimeMillis();
+            runtime.gc();
+            System.out.print("Operation: PUT | Data Stucture: INTINTHASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+                    runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        }
     }
 
     /**
@@ -133,32 +871,44 @@ public class PerformanceAnalysisHash implements PerformanceAnalysis {
       //get and store memory and time usage of the hash table remove
         Runtime runtime = Runtime.getRuntime();
         long startTime = System.currentTimeMillis();
-        for(int i = 0; i < inputData.size(); i++) {
-            if(isInteger) {
-                hash.remove(Integer.parseInt(inputData.get(i)));
-            } else {
-                hash.remove(inputData.get(i));
-            }
+        for(int i = 0; i < keys.length; i++) {
+            hash.remove(keys[i]);
         }
         long stopTime = System.currentTimeMillis();
         runtime.gc();
-        System.out.print("Operation: DELETE | Data Stucture: HASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+        System.out.print("Operation: DELETE | Data Stucture: " + hashName + " | Bytes Used: " + (runtime.totalMemory() -
                 runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
         
         //get and store memory and time usage of the tree map remove
         runtime = Runtime.getRuntime();
         startTime = System.currentTimeMillis();
-        for(int i = 0; i < inputData.size(); i++) {
-            if(isInteger) {
-                tree.remove(Integer.parseInt(inputData.get(i)));
-            } else {
-                tree.remove(inputData.get(i));
-            }
+        for(int i = 0; i < keys.length; i++) {
+            tree.remove(keys[i]);
         }
         stopTime = System.currentTimeMillis();
         runtime.gc();
         System.out.print("Operation: DELETE | Data Stucture: TREEMAP | Bytes Used: " + (runtime.totalMemory() -
                 runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        //get and store memory and time usage of the grouped probing hash table remove
+        startTime = System.currentTimeMillis();
+        for(int i = 0; i < keys.length; i++) {
+            swiss.remove(keys[i]);
+        }
+        stopTime = System.currentTimeMillis();
+        runtime.gc();
+        System.out.print("Operation: DELETE | Data Stucture: SWISSHASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+                runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        if(isInteger) {
+            //get and store memory and time usage of the primitive hash table remove
+            startTime = System.currentTimeMillis();
+            for(int i = 0; i < keys.length; i++) {
+                intHash.remove(intKeys[i]);
+            }
+            stopTime = System.currentTimeMillis();
+            runtime.gc();
+            System.out.print("Operation: DELETE | Data Stucture: INTINTHASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+                    runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        }
     }
     
     /**
@@ -170,57 +920,57 @@ public class PerformanceAnalysisHash implements PerformanceAnalysis {
         //get and store memory and time usage of the hash table remove
         Runtime runtime = Runtime.getRuntime();
         long startTime = System.currentTimeMillis();
-        for(int i = 0; i < inputData.size(); i++) {
-            if(isInteger) {
-                hash.get(Integer.parseInt(inputData.get(i)));
-            } else {
-                hash.get(inputData.get(i));
-            }
+        for(int i = 0; i < keys.length; i++) {
+            hash.get(keys[i]);
             
         }
         long stopTime = System.currentTimeMillis();
         runtime.gc();
-        System.out.print("Operation: SEARCH | Data Stucture: HASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+        System.out.print("Operation: SEARCH | Data Stucture: " + hashName + " | Bytes Used: " + (runtime.totalMemory() -
                 runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
         
         //get and store memory and time usage of the tree map remove
         runtime = Runtime.getRuntime();
         startTime = System.currentTimeMillis();
-        for(int i = 0; i < inputData.size(); i++) {
-            if(isInteger) {
-                tree.get(Integer.parseInt(inputData.get(i)));
-            } else {
-                tree.get(inputData.get(i));
-            }
+        for(int i = 0; i < keys.length; i++) {
+            tree.get(keys[i]);
         }
         stopTime = System.currentTimeMillis();
         runtime.gc();
         System.out.print("Operation: SEARCH | Data Stucture: TREEMAP | Bytes Used: " + (runtime.totalMemory() -
                 runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        //get and store memory and time usage of the grouped probing hash table search
+        startTime = System.currentTimeMillis();
+        for(int i = 0; i < keys.length; i++) {
+            swiss.get(keys[i]);
+        }
+        stopTime = System.currentTimeMillis();
+        runtime.gc();
+        System.out.print("Operation: SEARCH | Data Stucture: SWISSHASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+                runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        if(isInteger) {
+            //get and store memory and time usage of the primitive hash table search
+            startTime = System.currentTimeMillis();
+            for(int i = 0; i < keys.length; i++) {
+                intHash.get(intKeys[i]);
+            }
+            stopTime = System.currentTimeMillis();
+            runtime.gc();
+            System.out.print("Operation: SEARCH | Data Stucture: INTINTHASHTABLE | Bytes Used: " + (runtime.totalMemory() -
+                    runtime.freeMemory()) + " | Time Taken(ms): " + (stopTime - startTime) + "\n");
+        }
     }
 
-    /*
-    An implementation of loading files into local data structure is provided to you
-    Please feel free to make any changes if required as per your implementation.
-    However, this function can be used as is.
+    /**
+     * loads a data file, parsing every line once. Integer files are kept
+     * both as boxed keys and as an int[] for the primitive hash table
+     * param: filename
      */
     @Override
     public void loadData(String filename) throws IOException {
-
-        // Opens the given test file and stores the objects each line as a string
-        File file = new File(filename);
-        BufferedReader br = new BufferedReader(new FileReader(file));
-        inputData = new ArrayList<>();
-        String line = br.readLine();
-        try {
-            Integer.parseInt(line);
-        } catch (NumberFormatException e) {
-            isInteger = false;
-        }
-        while (line != null) {
-            inputData.add(line);
-            line = br.readLine();
-        }
-        br.close();
+        DataFile data = DataFile.load(Paths.get(filename));
+        isInteger = data.isInteger();
+        intKeys = isInteger ? data.ints() : null;
+        keys = data.keys();
     }
 }
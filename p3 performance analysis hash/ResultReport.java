@@ -0,0 +1,149 @@
+/**
+ * ResultReport class used to save benchmark results as CSV or JSON and to
+ * compare a new result file with a baseline. The format is picked from
+ * the file extension (.json for JSON, anything else is CSV). A JSON file
+ * is an array with one result object per line, which is also how it is
+ * read back
+ * Bugs: file and structure names must not contain commas in CSV files
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     BenchmarkResult.java, PerformanceAnalysisHash.java
+ */
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ResultReport {
+    //header line of CSV files
+    static final String CSV_HEADER = "file,structure,operation,operations,opsPerSec,nsPerOp,bytesPerEntry";
+    //one "name":value pair of a JSON result line
+    private static final Pattern JSON_FIELD = Pattern.compile("\"(\\w+)\":(\"((?:[^\"\\\\]|\\\\.)*)\"|[^,}]+)");
+
+    private ResultReport() {
+    }
+
+    /**
+     * writes results to file as CSV or JSON, replacing anything already there
+     * param: results, file
+     */
+    public static void write(List<BenchmarkResult> results, Path file) throws IOException {
+        try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            if(isJson(file)) {
+                out.println("[");
+                for(int i = 0; i < results.size(); i++) {
+                    BenchmarkResult r = results.get(i);
+                    out.print(String.format(Locale.ROOT, "  {\"file\":\"%s\",\"structure\":\"%s\",\"operation\":\"%s\","
+                            + "\"operations\":%d,\"opsPerSec\":%.1f,\"nsPerOp\":%.2f,\"bytesPerEntry\":%.2f}",
+                            escape(r.file), escape(r.structure), escape(r.operation), r.operations,
+                            r.opsPerSec, r.nsPerOp, r.bytesPerEntry));
+                    out.println(i < results.size() - 1 ? "," : "");
+                }
+                out.println("]");
+            } else {
+                out.println(CSV_HEADER);
+                for(BenchmarkResult r : results) {
+                    out.println(String.format(Locale.ROOT, "%s,%s,%s,%d,%.1f,%.2f,%.2f", r.file, r.structure,
+                            r.operation, r.operations, r.opsPerSec, r.nsPerOp, r.bytesPerEntry));
+                }
+            }
+        }
+    }
+
+    /**
+     * reads a result file written by write
+     * param: file
+     * returns: the results in file order
+     */
+    public static List<BenchmarkResult> read(Path file) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        boolean json = isJson(file);
+        boolean header = !json;
+        for(String line : Files.readAllLines(file)) {
+            if(header) {
+                header = false;
+                continue;
+            }
+            if(json) {
+                if(line.indexOf('{') < 0) {
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<String, String>();
+                Matcher m = JSON_FIELD.matcher(line);
+                while(m.find()) {
+                    fields.put(m.group(1), m.group(3) != null ? unescape(m.group(3)) : m.group(2).trim());
+                }
+                results.add(new BenchmarkResult(fields.get("file"), fields.get("structure"),
+                        fields.get("operation"), Long.parseLong(fields.get("operations")),
+                        Double.parseDouble(fields.get("opsPerSec")), Double.parseDouble(fields.get("nsPerOp")),
+                        Double.parseDouble(fields.get("bytesPerEntry"))));
+            } else if(!line.isEmpty()) {
+                String[] f = line.split(",");
+                results.add(new BenchmarkResult(f[0], f[1], f[2], Long.parseLong(f[3]),
+                        Double.parseDouble(f[4]), Double.parseDouble(f[5]), Double.parseDouble(f[6])));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * compares every result of current with the result of the same file,
+     * structure and operation in baseline and prints the ones whose
+     * ops/sec dropped by more than threshold. Results found in only one
+     * of the two lists are reported but do not count as regressions
+     * param: baseline, current, threshold -> allowed drop, 0.1 for 10%
+     * returns: number of regressions
+     */
+    public static int compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current, double threshold) {
+        Map<String, BenchmarkResult> before = new HashMap<String, BenchmarkResult>();
+        for(BenchmarkResult r : baseline) {
+            before.put(r.key(), r);
+        }
+        int regressions = 0;
+        for(BenchmarkResult r : current) {
+            BenchmarkResult old = before.remove(r.key());
+            if(old == null) {
+                System.out.println("NEW | " + describe(r) + " | Ops/sec: " + (long) r.opsPerSec);
+                continue;
+            }
+            double change = (r.opsPerSec - old.opsPerSec) / old.opsPerSec;
+            String status = "OK";
+            if(change < -threshold) {
+                status = "REGRESSION";
+                regressions++;
+            }
+            System.out.println(status + " | " + describe(r) + " | Baseline Ops/sec: " + (long) old.opsPerSec
+                    + " | Ops/sec: " + (long) r.opsPerSec + " | Change: "
+                    + String.format(Locale.ROOT, "%+.1f%%", change * 100));
+        }
+        for(BenchmarkResult r : before.values()) {
+            System.out.println("MISSING | " + describe(r));
+        }
+        System.out.println("Regressions: " + regressions + " (threshold "
+                + String.format(Locale.ROOT, "%.1f%%", threshold * 100) + ")");
+        return regressions;
+    }
+
+    private static String describe(BenchmarkResult r) {
+        return "FileName: " + r.file + " | Data Stucture: " + r.structure + " | Operation: " + r.operation;
+    }
+
+    private static boolean isJson(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String unescape(String s) {
+        return s.replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+}
@@ -0,0 +1,392 @@
+/**
+ * SwissHashTable class used to construct an open addressing hash table
+ * in the style of Abseil's SwissTable. Keys and values sit in flat
+ * arrays and a separate array of control bytes holds a 7 bit tag of each
+ * key's hash. Lookups read the control bytes eight at a time as one long
+ * and compare all eight tags at once with bit tricks, so most misses and
+ * hits touch a single word of metadata before looking at any key. When
+ * built with "make VECTOR=1" and run with the jdk.incubator.vector module,
+ * groups are 16 or 32 control bytes wide and compared by a GroupProbe
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, GroupProbe.java, PerformanceAnalysisHash.java
+ */
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+public class SwissHashTable<K, V> implements HashTableADT<K, V> {
+    //compares whole groups with the Vector API, null if it is not available
+    private static final GroupProbe VECTOR = GroupProbe.load();
+    //number of control bytes compared at once
+    private static final int GROUP_WIDTH = VECTOR == null ? 8 : VECTOR.width();
+    //control byte of a slot that has never held an entry
+    private static final byte EMPTY = (byte) 0x80;
+    //control byte of a slot whose entry was removed
+    private static final byte DELETED = (byte) 0xFE;
+    //lowest bit of every byte in a group
+    private static final long LSBS = 0x0101010101010101L;
+    //highest bit of every byte in a group
+    private static final long MSBS = 0x8080808080808080L;
+    //largest table that can be allocated (power of two)
+    private static final int MAX_CAPACITY = 1 << 30;
+    //highest load the probing scheme allows, there must always be an EMPTY slot
+    private static final double MAX_LOAD_FACTOR = 7.0 / 8.0;
+    //reads eight control bytes as one little endian long when VECTOR is null
+    private static final VarHandle GROUP =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    //one control byte per slot, followed by a copy of the first GROUP_WIDTH
+    //bytes so a group can be read at any slot without wrapping
+    private byte[] ctrl;
+    //key stored in each slot
+    private Object[] keys;
+    //value stored in each slot
+    private Object[] values;
+    //number of slots, always a power of two
+    private int currCapacity;
+    //currCapacity - 1, used in place of a modulo
+    private int mask;
+    //for determining when to resize arrays
+    private double loadFactor;
+    //number of EMPTY slots that may still be filled before resizing
+    private int growthLeft;
+    //number of elements in hash table
+    private int size;
+
+    /**
+     * constructor sets initial capacity and load factor
+     * Param: initialCapacity, loadFactor -> values above 7/8 are lowered to 7/8
+     */
+    public SwissHashTable(int initialCapacity, double loadFactor) {
+        if(loadFactor <= 0) {
+            throw new IllegalArgumentException("loadFactor must be positive");
+        }
+        this.loadFactor = Math.min(loadFactor, MAX_LOAD_FACTOR);
+        allocate(tableSizeFor(initialCapacity));
+        size = 0;
+    }
+
+    /**
+     * used to insert elements into hash table, replacing the value of
+     * an existing key
+     * param: key, value
+     * returns: value associated with key
+     */
+    @Override
+    public V put(K key, V value) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int hash = mix(key.hashCode());
+        int slot = find(hash, key);
+        if(slot >= 0) {
+            values[slot] = value;
+            return value;
+        }
+        slot = findInsertSlot(hash);
+        if(growthLeft == 0 && ctrl[slot] == EMPTY) {
+            rehash();
+            slot = findInsertSlot(hash);
+        }
+        if(ctrl[slot] == EMPTY) {
+            growthLeft--;
+        }
+        setCtrl(slot, (byte) (hash & 0x7F));
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return value;
+    }
+
+    /**
+     * gets the value associated with key
+     * params: key
+     * returns: value associated with key
+     * throws NoSuchElementException if key has no mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int slot = find(mix(key.hashCode()), key);
+        if(slot < 0) {
+            throw new NoSuchElementException();
+        }
+        return (V) values[slot];
+    }
+
+    /**
+     * gets the value associated with key, or defaultValue if key has no mapping
+     * params: key, defaultValue
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = find(mix(key.hashCode()), key);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    /**
+     * removes entry associated with key. The slot goes back to EMPTY when
+     * no probe could have passed over it, otherwise it is marked DELETED
+     * params: key
+     * returns: value of key that was removed, null if key had no mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        if(key == null) {
+            throw new NullPointerException();
+        }
+        int slot = find(mix(key.hashCode()), key);
+        if(slot < 0) {
+            return null;
+        }
+        V removed = (V) values[slot];
+        keys[slot] = null;
+        values[slot] = null;
+        if(wasNeverFull(slot)) {
+            setCtrl(slot, EMPTY);
+            growthLeft++;
+        } else {
+            setCtrl(slot, DELETED);
+        }
+        size--;
+        return removed;
+    }
+
+    /**
+     * clears the hash table, keeping its current capacity
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(ctrl, EMPTY);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        growthLeft = (int) (currCapacity * loadFactor);
+        size = 0;
+    }
+
+    /**
+     * checks to see if hash table is empty
+     * returns: true if is empty otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * passes every entry to action in slot order
+     * param: action
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for(int i = 0; i < currCapacity; i++) {
+            if(ctrl[i] >= 0) {
+                action.accept((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * returns: true if there were never GROUP_WIDTH full slots in a row
+     *          around slot, so no probe sequence can have continued past it
+     */
+    private boolean wasNeverFull(int slot) {
+        int before = (slot - GROUP_WIDTH) & mask;
+        if(VECTOR != null) {
+            long emptyBefore = VECTOR.matchEmpty(ctrl, before);
+            long emptyAfter = VECTOR.matchEmpty(ctrl, slot);
+            return emptyBefore != 0 && emptyAfter != 0
+                    && Long.numberOfLeadingZeros(emptyBefore) - (64 - GROUP_WIDTH)
+                    + Long.numberOfTrailingZeros(emptyAfter) < GROUP_WIDTH;
+        }
+        long emptyBefore = matchEmpty(group(before));
+        long emptyAfter = matchEmpty(group(slot));
+        return emptyBefore != 0 && emptyAfter != 0
+                && (Long.numberOfLeadingZeros(emptyBefore) >>> 3)
+                + (Long.numberOfTrailingZeros(emptyAfter) >>> 3) < GROUP_WIDTH;
+    }
+
+    /**
+     * returns: slot holding key, or -1 if key is not present
+     */
+    private int find(int hash, Object key) {
+        if(VECTOR != null) {
+            return findGroups(hash, key);
+        }
+        long pattern = LSBS * (hash & 0x7F);
+        int pos = (hash >>> 7) & mask;
+        int step = 0;
+        while(true) {
+            long group = group(pos);
+            long x = group ^ pattern;
+            //bytes equal to the tag become zero, find them all at once
+            long match = (x - LSBS) & ~x & MSBS;
+            while(match != 0) {
+                int slot = (pos + (Long.numberOfTrailingZeros(match) >>> 3)) & mask;
+                if(key.equals(keys[slot])) {
+                    return slot;
+                }
+                match &= match - 1;
+            }
+            if(matchEmpty(group) != 0) {
+                return -1;
+            }
+            step += GROUP_WIDTH;
+            pos = (pos + step) & mask;
+        }
+    }
+
+    /**
+     * find with the groups compared by VECTOR, one bit per slot in each mask
+     */
+    private int findGroups(int hash, Object key) {
+        byte tag = (byte) (hash & 0x7F);
+        int pos = (hash >>> 7) & mask;
+        int step = 0;
+        while(true) {
+            long match = VECTOR.matchTag(ctrl, pos, tag);
+            while(match != 0) {
+                int slot = (pos + Long.numberOfTrailingZeros(match)) & mask;
+                if(key.equals(keys[slot])) {
+                    return slot;
+                }
+                match &= match - 1;
+            }
+            if(VECTOR.matchEmpty(ctrl, pos) != 0) {
+                return -1;
+            }
+            step += GROUP_WIDTH;
+            pos = (pos + step) & mask;
+        }
+    }
+
+    /**
+     * returns: first EMPTY or DELETED slot on the probe sequence of hash
+     */
+    private int findInsertSlot(int hash) {
+        if(VECTOR != null) {
+            return findInsertSlotGroups(hash);
+        }
+        int pos = (hash >>> 7) & mask;
+        int step = 0;
+        while(true) {
+            long group = group(pos);
+            long free = group & ~(group << 7) & MSBS;
+            if(free != 0) {
+                return (pos + (Long.numberOfTrailingZeros(free) >>> 3)) & mask;
+            }
+            step += GROUP_WIDTH;
+            pos = (pos + step) & mask;
+        }
+    }
+
+    /**
+     * findInsertSlot with the groups compared by VECTOR
+     */
+    private int findInsertSlotGroups(int hash) {
+        int pos = (hash >>> 7) & mask;
+        int step = 0;
+        while(true) {
+            long free = VECTOR.matchFree(ctrl, pos);
+            if(free != 0) {
+                return (pos + Long.numberOfTrailingZeros(free)) & mask;
+            }
+            step += GROUP_WIDTH;
+            pos = (pos + step) & mask;
+        }
+    }
+
+    /**
+     * rebuilds the table, doubling it unless most of the used slots are
+     * only DELETED markers that can be dropped
+     */
+    private void rehash() {
+        int newCapacity = currCapacity;
+        if(size >= (int) (currCapacity * loadFactor) / 2) {
+            if(currCapacity == MAX_CAPACITY) {
+                throw new IllegalStateException("SwissHashTable is full");
+            }
+            newCapacity = currCapacity * 2;
+        }
+        byte[] oldCtrl = ctrl;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldCapacity = currCapacity;
+        allocate(newCapacity);
+        for(int i = 0; i < oldCapacity; i++) {
+            if(oldCtrl[i] >= 0) {
+                int hash = mix(oldKeys[i].hashCode());
+                int slot = findInsertSlot(hash);
+                setCtrl(slot, (byte) (hash & 0x7F));
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                growthLeft--;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        currCapacity = capacity;
+        mask = capacity - 1;
+        ctrl = new byte[capacity + GROUP_WIDTH];
+        Arrays.fill(ctrl, EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        growthLeft = (int) (capacity * loadFactor);
+    }
+
+    private void setCtrl(int slot, byte value) {
+        ctrl[slot] = value;
+        if(slot < GROUP_WIDTH) {
+            ctrl[currCapacity + slot] = value;
+        }
+    }
+
+    private long group(int pos) {
+        return (long) GROUP.get(ctrl, pos);
+    }
+
+    /**
+     * returns: high bit set in every byte of group that is EMPTY
+     */
+    private static long matchEmpty(long group) {
+        return group & (~group << 6) & MSBS;
+    }
+
+    /**
+     * scrambles the hash code so both the probe start and the 7 bit tag
+     * are well spread (murmur3 finalizer)
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * returns: smallest power of two that is at least capacity and at
+     *          least one group wide
+     */
+    private static int tableSizeFor(int capacity) {
+        if(capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        int n = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return Math.max(n, GROUP_WIDTH);
+    }
+}
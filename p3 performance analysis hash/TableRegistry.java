@@ -0,0 +1,114 @@
+/**
+ * TableRegistry class used to list the structures PerformanceAnalysis
+ * measures. Each structure is registered under a name with a factory
+ * that creates an empty instance of it as a HashTableADT, so new tables
+ * and java.util maps (through MapAdapter) can be compared without
+ * touching the analysis code. Structures that only accept integer or
+ * only accept string keys are skipped for files of the other type
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     PerformanceAnalysisHash.java, MapAdapter.java
+ */
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TableRegistry {
+    /**
+     * creates an empty structure
+     */
+    public interface Factory {
+        HashTableADT<Object, Object> create(int initialCapacity, double loadFactor);
+    }
+
+    /**
+     * key types a registered structure accepts
+     */
+    public enum Keys {
+        ANY, INTEGER, STRING
+    }
+
+    //factories in the order they were registered
+    private Map<String, Factory> factories = new LinkedHashMap<String, Factory>();
+    //key types accepted by each registered structure
+    private Map<String, Keys> keys = new HashMap<String, Keys>();
+
+    /**
+     * returns: a registry of every structure in this project plus HashMap,
+     *          LinkedHashMap and TreeMap
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static TableRegistry defaults() {
+        TableRegistry registry = new TableRegistry();
+        registry.register("HASHTABLE", Keys.ANY, (c, lf) -> new HashTable<Object, Object>(c, lf));
+        registry.register("TREEMAP", Keys.ANY, (c, lf) -> new MapAdapter<Object, Object>(
+                new TreeMap<Object, Object>()));
+        registry.register("HASHMAP", Keys.ANY, (c, lf) -> new MapAdapter<Object, Object>(
+                new HashMap<Object, Object>(c, (float) lf)));
+        registry.register("LINKEDHASHMAP", Keys.ANY, (c, lf) -> new MapAdapter<Object, Object>(
+                new LinkedHashMap<Object, Object>(c, (float) lf)));
+        registry.register("SWISSHASHTABLE", Keys.ANY, (c, lf) -> new SwissHashTable<Object, Object>(c, lf));
+        registry.register("INDEXEDHASHTABLE", Keys.ANY, (c, lf) -> new IndexedHashTable<Object, Object>(c, lf));
+        registry.register("CONCURRENTHASHTABLE", Keys.ANY,
+                (c, lf) -> new ConcurrentHashTable<Object, Object>(c, lf));
+        registry.register("INTINTHASHTABLE", Keys.INTEGER, (c, lf) -> (HashTableADT) new IntIntHashTable(c, lf));
+        registry.register("OFFHEAPHASHTABLE", Keys.STRING, (c, lf) -> (HashTableADT) new OffHeapHashTable(c, lf));
+        return registry;
+    }
+
+    /**
+     * adds a structure, replacing any structure registered under the same name
+     * param: name, keys -> key types the structure accepts, factory
+     */
+    public void register(String name, Keys keys, Factory factory) {
+        factories.put(name, factory);
+        this.keys.put(name, keys);
+    }
+
+    /**
+     * removes a structure
+     * param: name
+     */
+    public void unregister(String name) {
+        factories.remove(name);
+        keys.remove(name);
+    }
+
+    /**
+     * returns: names of the registered structures in registration order
+     */
+    public List<String> names() {
+        return new ArrayList<String>(factories.keySet());
+    }
+
+    /**
+     * returns: names of the registered structures that accept the keys of a file
+     * param: integerKeys -> true for a file of integers
+     */
+    public List<String> namesFor(boolean integerKeys) {
+        List<String> names = new ArrayList<String>();
+        for(String name : factories.keySet()) {
+            Keys accepted = keys.get(name);
+            if(accepted == Keys.ANY || (accepted == Keys.INTEGER) == integerKeys) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * returns: a new, empty instance of the named structure
+     * throws IllegalArgumentException if no structure has that name
+     */
+    public HashTableADT<Object, Object> create(String name, int initialCapacity, double loadFactor) {
+        Factory factory = factories.get(name);
+        if(factory == null) {
+            throw new IllegalArgumentException("no structure registered as " + name);
+        }
+        return factory.create(initialCapacity, loadFactor);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * TinyLfuPolicy class used to evict entries of a BoundedCache with the
+ * W-TinyLFU scheme. New entries go into a small LRU window (1% of the
+ * weight). Entries leaving the window become candidates for the main
+ * space, which is a segmented LRU of a probation and a protected part
+ * (80% of the main space). A candidate is only admitted when the
+ * frequency sketch says it was used more often than the entry it would
+ * push out, so a burst of one-time keys can not flush popular ones.
+ * Entries read while in probation are promoted to protected
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     BoundedCache.java, FrequencySketch.java, LruPolicy.java
+ */
+public class TinyLfuPolicy<K, V> implements EvictionPolicy<K, V> {
+    //share of the weight given to the admission window
+    private static final double WINDOW_SHARE = 0.01;
+    //share of the main space given to the protected part
+    private static final double PROTECTED_SHARE = 0.8;
+    private AccessOrder<K, V> window = new AccessOrder<K, V>();
+    private AccessOrder<K, V> probation = new AccessOrder<K, V>();
+    private AccessOrder<K, V> protectedOrder = new AccessOrder<K, V>();
+    //estimated recent use of each key
+    private FrequencySketch sketch;
+    private long windowMaximum;
+    private long mainMaximum;
+    private long protectedMaximum;
+
+    @Override
+    public void setMaximum(long maximumWeight) {
+        windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_SHARE));
+        mainMaximum = Math.max(0, maximumWeight - windowMaximum);
+        protectedMaximum = (long) (mainMaximum * PROTECTED_SHARE);
+        sketch = new FrequencySketch(maximumWeight);
+    }
+
+    @Override
+    public void onInsert(CacheEntry<K, V> entry) {
+        sketch.increment(entry.hash);
+        entry.region = CacheEntry.WINDOW;
+        window.addLast(entry);
+    }
+
+    @Override
+    public void onAccess(CacheEntry<K, V> entry) {
+        sketch.increment(entry.hash);
+        switch(entry.region) {
+            case CacheEntry.WINDOW:
+                window.moveToLast(entry);
+                break;
+            case CacheEntry.PROBATION:
+                probation.remove(entry);
+                entry.region = CacheEntry.PROTECTED;
+                protectedOrder.addLast(entry);
+                //demote the least recently used protected entries that no longer fit
+                while(protectedOrder.weight > protectedMaximum && protectedOrder.peekFirst() != entry) {
+                    CacheEntry<K, V> demoted = protectedOrder.peekFirst();
+                    protectedOrder.remove(demoted);
+                    demoted.region = CacheEntry.PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            default:
+                protectedOrder.moveToLast(entry);
+                break;
+        }
+    }
+
+    @Override
+    public void onRemove(CacheEntry<K, V> entry) {
+        orderOf(entry).remove(entry);
+    }
+
+    /**
+     * while the window is too large its oldest entry is moved into the
+     * main space if there is room, otherwise it competes with the oldest
+     * entry of the main space and the less frequently used of the two is
+     * evicted. With the window in bounds the oldest main entry is evicted
+     */
+    @Override
+    public CacheEntry<K, V> victim() {
+        while(window.weight > windowMaximum) {
+            CacheEntry<K, V> candidate = window.peekFirst();
+            CacheEntry<K, V> mainVictim = probation.peekFirst() != null ? probation.peekFirst()
+                    : protectedOrder.peekFirst();
+            window.remove(candidate);
+            if(mainVictim == null || probation.weight + protectedOrder.weight + candidate.weight <= mainMaximum) {
+                candidate.region = CacheEntry.PROBATION;
+                probation.addLast(candidate);
+                continue;
+            }
+            if(sketch.frequency(candidate.hash) > sketch.frequency(mainVictim.hash)) {
+                candidate.region = CacheEntry.PROBATION;
+                probation.addLast(candidate);
+                orderOf(mainVictim).remove(mainVictim);
+                return mainVictim;
+            }
+            return candidate;
+        }
+        CacheEntry<K, V> victim = probation.peekFirst();
+        if(victim == null) {
+            victim = protectedOrder.peekFirst();
+        }
+        if(victim == null) {
+            victim = window.peekFirst();
+        }
+        if(victim != null) {
+            orderOf(victim).remove(victim);
+        }
+        return victim;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedOrder.clear();
+    }
+
+    private AccessOrder<K, V> orderOf(CacheEntry<K, V> entry) {
+        switch(entry.region) {
+            case CacheEntry.WINDOW:
+                return window;
+            case CacheEntry.PROBATION:
+                return probation;
+            default:
+                return protectedOrder;
+        }
+    }
+}
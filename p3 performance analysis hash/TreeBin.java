@@ -0,0 +1,268 @@
+/**
+ * TreeBin class used as the placeholder stored in a bucket whose chain
+ * grew past HashTable.TREEIFY_THRESHOLD, by HashTable and HashTableSet.
+ * It holds the bucket's nodes in an AVL tree ordered by hash code, then
+ * by compareTo when the keys are Comparable, so lookups in the bucket
+ * take O(log n) even when many keys collide
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     HashTable.java, HashTableSet.java, TreeNode.java
+ */
+class TreeBin<K, V> extends HashNode<K, V> {
+    //root of the AVL tree
+    TreeNode<K, V> root;
+    //oldest node in the bucket's list
+    TreeNode<K, V> first;
+    //newest node in the bucket's list
+    TreeNode<K, V> last;
+    //number of nodes in the bucket
+    int count;
+    //node taken out by the last call to delete
+    private TreeNode<K, V> removed;
+
+    public TreeBin() {
+        super(0, null, null);
+    }
+
+    /**
+     * returns: node holding key, or null if it is not in the bucket
+     */
+    TreeNode<K, V> find(int hash, Object key) {
+        return find(root, hash, key);
+    }
+
+    private TreeNode<K, V> find(TreeNode<K, V> p, int hash, Object key) {
+        while(p != null) {
+            if(hash < p.hash) {
+                p = p.left;
+            } else if(hash > p.hash) {
+                p = p.right;
+            } else if(p.key.equals(key)) {
+                return p;
+            } else {
+                int c = compareKeys(key, p.key);
+                if(c < 0) {
+                    p = p.left;
+                } else if(c > 0) {
+                    p = p.right;
+                } else {
+                    //keys can not be ordered, so both sides have to be searched
+                    TreeNode<K, V> found = find(p.right, hash, key);
+                    if(found != null) {
+                        return found;
+                    }
+                    p = p.left;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * adds a new node for key, which must not already be in the bucket
+     */
+    void add(int hash, K key, V value) {
+        TreeNode<K, V> node = new TreeNode<K, V>(hash, key, value);
+        root = insert(root, node);
+        node.prev = last;
+        if(last == null) {
+            first = node;
+        } else {
+            last.next = node;
+        }
+        last = node;
+        count++;
+    }
+
+    /**
+     * removes the node holding key
+     * returns: the removed node, or null if key is not in the bucket
+     */
+    TreeNode<K, V> remove(int hash, Object key) {
+        removed = null;
+        root = delete(root, hash, key);
+        TreeNode<K, V> node = removed;
+        removed = null;
+        if(node != null) {
+            TreeNode<K, V> next = (TreeNode<K, V>) node.next;
+            if(node.prev == null) {
+                first = next;
+            } else {
+                node.prev.next = next;
+            }
+            if(next == null) {
+                last = node.prev;
+            } else {
+                next.prev = node.prev;
+            }
+            node.next = null;
+            node.prev = null;
+            count--;
+        }
+        return node;
+    }
+
+    /**
+     * removes and returns the oldest node in the bucket
+     */
+    TreeNode<K, V> pollFirst() {
+        return remove(first.hash, first.key);
+    }
+
+    /**
+     * returns: the bucket's entries as a plain chain
+     */
+    HashNode<K, V> untreeify() {
+        HashNode<K, V> head = null;
+        for(HashNode<K, V> curr = first; curr != null; curr = curr.next) {
+            HashNode<K, V> node = new HashNode<K, V>(curr.hash, curr.key, curr.value);
+            node.next = head;
+            head = node;
+        }
+        return head;
+    }
+
+    private TreeNode<K, V> insert(TreeNode<K, V> p, TreeNode<K, V> node) {
+        if(p == null) {
+            return node;
+        }
+        if(compareForInsert(node, p) < 0) {
+            p.left = insert(p.left, node);
+        } else {
+            p.right = insert(p.right, node);
+        }
+        return balance(p);
+    }
+
+    private TreeNode<K, V> delete(TreeNode<K, V> p, int hash, Object key) {
+        if(p == null) {
+            return null;
+        }
+        if(hash < p.hash) {
+            p.left = delete(p.left, hash, key);
+        } else if(hash > p.hash) {
+            p.right = delete(p.right, hash, key);
+        } else if(p.key.equals(key)) {
+            removed = p;
+            return deleteNode(p);
+        } else {
+            int c = compareKeys(key, p.key);
+            if(c < 0) {
+                p.left = delete(p.left, hash, key);
+            } else if(c > 0) {
+                p.right = delete(p.right, hash, key);
+            } else {
+                p.right = delete(p.right, hash, key);
+                if(removed == null) {
+                    p.left = delete(p.left, hash, key);
+                }
+            }
+        }
+        return balance(p);
+    }
+
+    /**
+     * returns: subtree left after taking p out
+     */
+    private TreeNode<K, V> deleteNode(TreeNode<K, V> p) {
+        TreeNode<K, V> left = p.left;
+        TreeNode<K, V> right = p.right;
+        p.left = null;
+        p.right = null;
+        p.height = 1;
+        if(left == null) {
+            return right;
+        }
+        if(right == null) {
+            return left;
+        }
+        TreeNode<K, V> successor = right;
+        while(successor.left != null) {
+            successor = successor.left;
+        }
+        successor.right = deleteMin(right);
+        successor.left = left;
+        return balance(successor);
+    }
+
+    private TreeNode<K, V> deleteMin(TreeNode<K, V> p) {
+        if(p.left == null) {
+            return p.right;
+        }
+        p.left = deleteMin(p.left);
+        return balance(p);
+    }
+
+    private TreeNode<K, V> balance(TreeNode<K, V> p) {
+        int diff = height(p.left) - height(p.right);
+        if(diff > 1) {
+            if(height(p.left.left) < height(p.left.right)) {
+                p.left = rotateLeft(p.left);
+            }
+            p = rotateRight(p);
+        } else if(diff < -1) {
+            if(height(p.right.right) < height(p.right.left)) {
+                p.right = rotateRight(p.right);
+            }
+            p = rotateLeft(p);
+        } else {
+            updateHeight(p);
+        }
+        return p;
+    }
+
+    private TreeNode<K, V> rotateRight(TreeNode<K, V> p) {
+        TreeNode<K, V> l = p.left;
+        p.left = l.right;
+        l.right = p;
+        updateHeight(p);
+        updateHeight(l);
+        return l;
+    }
+
+    private TreeNode<K, V> rotateLeft(TreeNode<K, V> p) {
+        TreeNode<K, V> r = p.right;
+        p.right = r.left;
+        r.left = p;
+        updateHeight(p);
+        updateHeight(r);
+        return r;
+    }
+
+    private static int height(TreeNode<?, ?> p) {
+        return p == null ? 0 : p.height;
+    }
+
+    private static void updateHeight(TreeNode<?, ?> p) {
+        p.height = Math.max(height(p.left), height(p.right)) + 1;
+    }
+
+    /**
+     * orders two nodes for insertion. Keys that can not be ordered any
+     * other way are ordered by identity hash code, which is why lookups
+     * of such keys search both subtrees
+     */
+    private static int compareForInsert(TreeNode<?, ?> a, TreeNode<?, ?> b) {
+        if(a.hash != b.hash) {
+            return a.hash < b.hash ? -1 : 1;
+        }
+        int c = compareKeys(a.key, b.key);
+        if(c == 0) {
+            c = System.identityHashCode(a.key) <= System.identityHashCode(b.key) ? -1 : 1;
+        }
+        return c;
+    }
+
+    /**
+     * returns: result of compareTo if both keys are Comparable and of the
+     *          same class, otherwise 0
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        if(a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return 0;
+    }
+}
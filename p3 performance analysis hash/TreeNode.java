@@ -0,0 +1,20 @@
+/**
+ * TreeNode class used as the node of a tree bucket. Besides its place in
+ * the tree every node is also kept in a doubly linked list through next
+ * and prev so the bucket can be walked and drained in insertion order
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     TreeBin.java, HashNode.java
+ */
+class TreeNode<K, V> extends HashNode<K, V> {
+    TreeNode<K, V> left;
+    TreeNode<K, V> right;
+    TreeNode<K, V> prev;
+    int height;
+
+    public TreeNode(int hash, K key, V value) {
+        super(hash, key, value);
+        height = 1;
+    }
+}
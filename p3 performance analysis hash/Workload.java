@@ -0,0 +1,357 @@
+/**
+ * Workload class used to describe and generate a mixed stream of hash
+ * table operations in the style of YCSB. A workload has ratios of reads,
+ * writes and deletes, the share of reads that look for keys that were
+ * never inserted, a distribution that picks which keys are used and a
+ * fixed number of operations. The whole stream is generated up front
+ * from a seed, so every structure measured with the same workload and
+ * data file replays exactly the same operations and generation is never
+ * part of the time measured.
+ *
+ * The keys of a data file are split into three parts. The first half is
+ * loaded before the stream starts, the next quarter is inserted by
+ * writes in order (after which writes update existing keys) and the
+ * last quarter is never inserted and is used for misses. The generator
+ * keeps track of which keys are in the table, so reads that should hit
+ * and deletes only pick keys that have not been deleted, and a write to
+ * a deleted key puts it back. Only reads of the last quarter miss, so
+ * the share of reads that miss stays at missRatio
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     PerformanceAnalysisHash.java
+ */
+import java.util.Arrays;
+import java.util.Random;
+
+public class Workload {
+    //operation codes of a generated stream
+    static final byte READ = 0;
+    static final byte WRITE = 1;
+    static final byte DELETE = 2;
+    //skew of the zipfian and latest distributions, the YCSB default
+    private static final double ZIPFIAN_CONSTANT = 0.99;
+    //share of the keys that get HOTSPOT_OPERATIONS of the operations
+    private static final double HOTSPOT_KEYS = 0.2;
+    private static final double HOTSPOT_OPERATIONS = 0.8;
+    //keys drawn from the distribution before a deleted key is replaced by
+    //a key picked evenly among the keys in the table
+    private static final int MAX_DRAWS = 8;
+
+    /**
+     * how the key of each operation is chosen among the inserted keys
+     */
+    public enum Distribution {
+        //every inserted key is equally likely
+        UNIFORM,
+        //a few of the first inserted keys get most of the operations
+        ZIPFIAN,
+        //like ZIPFIAN, but the most recently inserted keys are the hottest
+        LATEST,
+        //HOTSPOT_KEYS of the keys get HOTSPOT_OPERATIONS of the operations
+        HOTSPOT
+    }
+
+    private double readRatio;
+    private double writeRatio;
+    private double deleteRatio;
+    private double missRatio;
+    private Distribution distribution;
+    private int operations;
+    private long seed;
+
+    /**
+     * param: readRatio, writeRatio, deleteRatio -> relative shares of each
+     *        operation, they do not have to add up to one
+     * param: missRatio -> share of reads that look for a key never inserted
+     * param: distribution, operations, seed
+     */
+    public Workload(double readRatio, double writeRatio, double deleteRatio, double missRatio,
+            Distribution distribution, int operations, long seed) {
+        double total = readRatio + writeRatio + deleteRatio;
+        if(readRatio < 0 || writeRatio < 0 || deleteRatio < 0 || total <= 0) {
+            throw new IllegalArgumentException("operation ratios must be positive");
+        }
+        if(missRatio < 0 || missRatio > 1) {
+            throw new IllegalArgumentException("missRatio must be between 0 and 1");
+        }
+        if(operations <= 0) {
+            throw new IllegalArgumentException("operations must be positive");
+        }
+        this.readRatio = readRatio / total;
+        this.writeRatio = writeRatio / total;
+        this.deleteRatio = deleteRatio / total;
+        this.missRatio = missRatio;
+        this.distribution = distribution;
+        this.operations = operations;
+        this.seed = seed;
+    }
+
+    /**
+     * reads a workload from comma separated name=value pairs, for example
+     * "read=0.9,write=0.05,delete=0.05,miss=0.1,dist=zipfian,ops=1000000,seed=42".
+     * Names that are left out keep the values of that example
+     */
+    public static Workload parse(String spec) {
+        double read = 0.9;
+        double write = 0.05;
+        double delete = 0.05;
+        double miss = 0.1;
+        Distribution distribution = Distribution.ZIPFIAN;
+        int operations = 1000000;
+        long seed = 42;
+        for(String pair : spec.split(",")) {
+            if(pair.isEmpty()) {
+                continue;
+            }
+            String[] parts = pair.split("=", 2);
+            if(parts.length != 2) {
+                throw new IllegalArgumentException("expected name=value but got " + pair);
+            }
+            switch(parts[0]) {
+                case "read":
+                    read = Double.parseDouble(parts[1]);
+                    break;
+                case "write":
+                    write = Double.parseDouble(parts[1]);
+                    break;
+                case "delete":
+                    delete = Double.parseDouble(parts[1]);
+                    break;
+                case "miss":
+                    miss = Double.parseDouble(parts[1]);
+                    break;
+                case "dist":
+                    distribution = Distribution.valueOf(parts[1].toUpperCase());
+                    break;
+                case "ops":
+                    operations = Integer.parseInt(parts[1]);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(parts[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown workload setting " + parts[0]);
+            }
+        }
+        return new Workload(read, write, delete, miss, distribution, operations, seed);
+    }
+
+    /**
+     * returns: number of keys loaded before the stream starts
+     */
+    public static int preloadCount(int keyCount) {
+        return keyCount / 2;
+    }
+
+    /**
+     * generates the operation stream for a data file with keyCount keys
+     * param: keyCount -> at least 4 so that every part of the key space is used
+     * returns: the operations and the index of the key each one uses
+     */
+    public Stream generate(int keyCount) {
+        if(keyCount < 4) {
+            throw new IllegalArgumentException("a workload needs at least 4 keys");
+        }
+        Random random = new Random(seed);
+        int inserted = preloadCount(keyCount);
+        int insertLimit = keyCount - keyCount / 4;
+        int missStart = insertLimit;
+        Zipfian zipfian = new Zipfian(inserted);
+        KeySet present = new KeySet(insertLimit);
+        for(int k = 0; k < inserted; k++) {
+            present.add(k);
+        }
+        byte[] ops = new byte[operations];
+        int[] keyIndexes = new int[operations];
+        for(int i = 0; i < operations; i++) {
+            double op = random.nextDouble();
+            if(op < readRatio) {
+                ops[i] = READ;
+                int key = -1;
+                if(random.nextDouble() >= missRatio) {
+                    key = choosePresent(random, zipfian, inserted, present);
+                }
+                //a read misses when it should or when every key was deleted
+                keyIndexes[i] = key >= 0 ? key : missStart + random.nextInt(keyCount - missStart);
+            } else if(op < readRatio + writeRatio) {
+                ops[i] = WRITE;
+                if(inserted < insertLimit) {
+                    keyIndexes[i] = inserted++;
+                    zipfian.grow(inserted);
+                } else {
+                    keyIndexes[i] = choose(random, zipfian, inserted);
+                }
+                present.add(keyIndexes[i]);
+            } else {
+                ops[i] = DELETE;
+                int key = choosePresent(random, zipfian, inserted, present);
+                if(key >= 0) {
+                    present.remove(key);
+                } else {
+                    //every key was deleted, so this delete finds nothing
+                    key = choose(random, zipfian, inserted);
+                }
+                keyIndexes[i] = key;
+            }
+        }
+        return new Stream(ops, keyIndexes);
+    }
+
+    /**
+     * returns: index of a key that is in the table, picked by the
+     *          distribution when one of MAX_DRAWS draws is in the table and
+     *          evenly among the keys in the table otherwise, or -1 if
+     *          there are none
+     */
+    private int choosePresent(Random random, Zipfian zipfian, int inserted, KeySet present) {
+        if(present.size() == 0) {
+            return -1;
+        }
+        for(int draw = 0; draw < MAX_DRAWS; draw++) {
+            int key = choose(random, zipfian, inserted);
+            if(present.contains(key)) {
+                return key;
+            }
+        }
+        return present.get(random.nextInt(present.size()));
+    }
+
+    /**
+     * returns: index of one of the first inserted keys, picked by the distribution
+     */
+    private int choose(Random random, Zipfian zipfian, int inserted) {
+        switch(distribution) {
+            case ZIPFIAN:
+                return zipfian.next(random);
+            case LATEST:
+                return inserted - 1 - zipfian.next(random);
+            case HOTSPOT:
+                int hot = Math.max(1, (int) (inserted * HOTSPOT_KEYS));
+                if(random.nextDouble() < HOTSPOT_OPERATIONS || hot == inserted) {
+                    return random.nextInt(hot);
+                }
+                return hot + random.nextInt(inserted - hot);
+            default:
+                return random.nextInt(inserted);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("read=%.2f,write=%.2f,delete=%.2f,miss=%.2f,dist=%s,ops=%d,seed=%d",
+                readRatio, writeRatio, deleteRatio, missRatio, distribution.name().toLowerCase(),
+                operations, seed);
+    }
+
+    /**
+     * a generated operation stream, stored as parallel arrays so replaying
+     * it allocates nothing
+     */
+    public static class Stream {
+        //READ, WRITE or DELETE
+        final byte[] ops;
+        //index in the data file of the key used by each operation
+        final int[] keyIndexes;
+
+        Stream(byte[] ops, int[] keyIndexes) {
+            this.ops = ops;
+            this.keyIndexes = keyIndexes;
+        }
+
+        public int size() {
+            return ops.length;
+        }
+    }
+
+    /**
+     * set of key indexes below a limit that supports adding, removing,
+     * membership and picking the i-th member in constant time. Members are
+     * kept packed at the front of an array, and a removed member is
+     * replaced by the last one
+     */
+    private static class KeySet {
+        private final int[] members;
+        //index of each key in members, -1 if it is not a member
+        private final int[] positions;
+        private int size;
+
+        KeySet(int limit) {
+            members = new int[limit];
+            positions = new int[limit];
+            Arrays.fill(positions, -1);
+        }
+
+        void add(int key) {
+            if(positions[key] < 0) {
+                positions[key] = size;
+                members[size++] = key;
+            }
+        }
+
+        void remove(int key) {
+            int position = positions[key];
+            if(position >= 0) {
+                int last = members[--size];
+                members[position] = last;
+                positions[last] = position;
+                positions[key] = -1;
+            }
+        }
+
+        boolean contains(int key) {
+            return positions[key] >= 0;
+        }
+
+        int get(int index) {
+            return members[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * zipfian ranks over a growing number of items, computed as in YCSB's
+     * ZipfianGenerator. Rank 0 is the most popular item
+     */
+    private static class Zipfian {
+        private final double theta = ZIPFIAN_CONSTANT;
+        private final double alpha = 1.0 / (1.0 - theta);
+        private final double zeta2 = 1.0 + Math.pow(0.5, theta);
+        private int items;
+        private double zetan;
+        private double eta;
+
+        Zipfian(int items) {
+            this.items = 0;
+            grow(items);
+        }
+
+        /**
+         * extends the distribution to the given number of items, adding only
+         * the new terms to the zeta sum
+         */
+        void grow(int newItems) {
+            for(int i = items + 1; i <= newItems; i++) {
+                zetan += 1.0 / Math.pow(i, theta);
+            }
+            items = newItems;
+            eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetan);
+        }
+
+        int next(Random random) {
+            double u = random.nextDouble();
+            double uz = u * zetan;
+            if(uz < 1.0) {
+                return 0;
+            }
+            if(uz < zeta2) {
+                return Math.min(1, items - 1);
+            }
+            int rank = (int) (items * Math.pow(eta * u - eta + 1, alpha));
+            return Math.min(rank, items - 1);
+        }
+    }
+}
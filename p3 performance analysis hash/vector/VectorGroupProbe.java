@@ -0,0 +1,42 @@
+/**
+ * VectorGroupProbe class used by SwissHashTable to compare a group of
+ * control bytes with one vector compare. The group is 32 bytes wide when
+ * the CPU has 256 bit vectors and 16 bytes wide otherwise. This file needs
+ * the incubating jdk.incubator.vector module, so it is kept out of the
+ * default build and compiled only by "make VECTOR=1"
+ * Bugs: none known
+ *
+ * @author       Chris Sullivan (csullivan9@wisc.edu)
+ * @see also     GroupProbe.java, SwissHashTable.java
+ */
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorGroupProbe implements GroupProbe {
+    //control byte of a slot that has never held an entry, as in SwissHashTable
+    private static final byte EMPTY = (byte) 0x80;
+    private static final VectorSpecies<Byte> SPECIES =
+            ByteVector.SPECIES_PREFERRED.length() >= 32 ? ByteVector.SPECIES_256 : ByteVector.SPECIES_128;
+
+    @Override
+    public int width() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public long matchTag(byte[] ctrl, int pos, byte tag) {
+        return ByteVector.fromArray(SPECIES, ctrl, pos).eq(tag).toLong();
+    }
+
+    @Override
+    public long matchEmpty(byte[] ctrl, int pos) {
+        return ByteVector.fromArray(SPECIES, ctrl, pos).eq(EMPTY).toLong();
+    }
+
+    @Override
+    public long matchFree(byte[] ctrl, int pos) {
+        //EMPTY and DELETED are the only control bytes with the high bit set
+        return ByteVector.fromArray(SPECIES, ctrl, pos).compare(VectorOperators.LT, 0).toLong();
+    }
+}
@@ -0,0 +1,267 @@
+import java.util.List;
+
+/**
+ * Edit distance checks between words that do not allocate.
+ *
+ * {@link #isAdjacent(CharSequence, CharSequence)} decides in one pass over
+ * the two words whether they are one edit apart, with the same answers as
+ * the original WordProcessor.isAdjacent, which built a new String for each
+ * of the 53 * L single edits of word1 and compared it to word2. Words whose
+ * lengths differ by more than one are rejected before any char is read.
+ *
+ * A {@link Matcher} checks one query word against many candidates with the
+ * bit-parallel algorithm of Myers (1999), in the form given by Hyyro for
+ * the distance between two whole strings: one column of the edit distance
+ * table is kept as bit vectors of vertical deltas, so each char of a
+ * candidate costs a few word operations instead of one step per char of
+ * the query. Queries longer than 64 chars fall back to the table itself.
+ *
+ * Chars are compared ignoring case the way String.equalsIgnoreCase does.
+ */
+public final class EditDistance {
+
+	private EditDistance() {
+	}
+
+	/**
+	 * Adjacency between word1 and word2 is defined by:
+	 * if word2 can be made from word1 by
+	 * 	1 char replacement by a letter
+	 *  1 char addition of a letter
+	 *  1 char deletion
+	 * ignoring case then
+	 *  word1 and word2 are adjacent
+	 * else
+	 *  word1 and word2 are not adjacent
+	 *
+	 * Note: if word1 is equal to word2, they are not adjacent. Since the
+	 * replacement and addition must be letters A to Z, a word with other
+	 * chars can be adjacent to a second word without the second word being
+	 * adjacent to it
+	 *
+	 * @param word1 first word
+	 * @param word2 second word
+	 * @return true if word1 and word2 are adjacent else false
+	 */
+	public static boolean isAdjacent(CharSequence word1, CharSequence word2) {
+		int length1 = word1.length();
+		int length2 = word2.length();
+		int difference = length2 - length1;
+		if (difference > 1 || difference < -1)
+			return false;
+		int shorter = Math.min(length1, length2);
+		// prefix: chars equal ignoring case from the start, exact: of those, equal chars
+		int prefix = 0;
+		boolean exact = true;
+		while (prefix < shorter) {
+			char c1 = word1.charAt(prefix);
+			char c2 = word2.charAt(prefix);
+			if (c1 != c2) {
+				if (!equalsIgnoreCase(c1, c2))
+					break;
+				exact = false;
+			}
+			prefix++;
+		}
+		if (difference == 0) {
+			if (prefix == length1) {
+				// equal ignoring case: replacing a char by itself is an edit unless the words are equal
+				if (exact)
+					return false;
+				for (int i = 0; i < length2; i++)
+					if (isLetter(word2.charAt(i)))
+						return true;
+				return false;
+			}
+			// one replacement at prefix, by the char of word2
+			for (int i = prefix + 1; i < length1; i++)
+				if (!equalsIgnoreCase(word1.charAt(i), word2.charAt(i)))
+					return false;
+			return isLetter(word2.charAt(prefix));
+		}
+		// suffix: chars equal ignoring case from the end
+		int suffix = 0;
+		while (suffix < shorter && equalsIgnoreCase(word1.charAt(length1 - 1 - suffix), word2.charAt(length2 - 1 - suffix)))
+			suffix++;
+		if (difference < 0)
+			// deleting any char at an index from length2 - suffix to prefix gives word2
+			return prefix + suffix >= length2;
+		// adding the char of word2 at an index from length1 - suffix to prefix gives word2
+		for (int i = Math.max(0, length1 - suffix); i <= prefix; i++)
+			if (isLetter(word2.charAt(i)))
+				return true;
+		return false;
+	}
+
+	/**
+	 * @return true if the chars are equal the way String.equalsIgnoreCase compares chars
+	 */
+	static boolean equalsIgnoreCase(char c1, char c2) {
+		if (c1 == c2)
+			return true;
+		char u1 = Character.toUpperCase(c1);
+		char u2 = Character.toUpperCase(c2);
+		return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+	}
+
+	/**
+	 * @return true if c is equal ignoring case to one of the letters A to Z
+	 */
+	static boolean isLetter(char c) {
+		char upper = Character.toUpperCase(c);
+		if (upper >= 'A' && upper <= 'Z')
+			return true;
+		char lower = Character.toLowerCase(upper);
+		return lower >= 'a' && lower <= 'z';
+	}
+
+	/**
+	 * @return c folded so chars equal ignoring case fold the same
+	 */
+	static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Computes the edit distance from one query word to many candidates.
+	 * Insertions, deletions and replacements all cost 1, and chars that are
+	 * equal ignoring case match. A matcher keeps its tables between calls,
+	 * so it does not allocate after it is made, and it is not thread safe
+	 */
+	public static final class Matcher {
+		private final char[] query;
+		// bit j is set in peq[c] if char j of the query folds to c, for c < 256
+		private final long[] peq;
+		// one column of the edit distance table, for queries longer than 64 chars
+		private final int[] column;
+
+		/**
+		 * @param query the word candidates are compared to
+		 */
+		public Matcher(CharSequence query) {
+			this.query = new char[query.length()];
+			for (int j = 0; j < this.query.length; j++)
+				this.query[j] = fold(query.charAt(j));
+			if (this.query.length <= 64) {
+				peq = new long[256];
+				for (int j = 0; j < this.query.length; j++)
+					if (this.query[j] < 256)
+						peq[this.query[j]] |= 1L << j;
+				column = null;
+			} else {
+				peq = null;
+				column = new int[this.query.length + 1];
+			}
+		}
+
+		/**
+		 * @param candidate the word to compare to the query
+		 * @param k the largest distance of interest
+		 * @return the edit distance from the query to candidate if it is at most
+		 *         k, else k + 1
+		 */
+		public int distance(CharSequence candidate, int k) {
+			int m = query.length;
+			int n = candidate.length();
+			if (Math.abs(m - n) > k)
+				return k + 1;
+			if (m == 0)
+				return n;
+			return peq != null ? bitParallel(candidate, k) : table(candidate, k);
+		}
+
+		/**
+		 * @return true if candidate is at most k edits from the query
+		 */
+		public boolean within(CharSequence candidate, int k) {
+			return distance(candidate, k) <= k;
+		}
+
+		/**
+		 * Checks the query against every candidate
+		 *
+		 * @param candidates the words to compare to the query
+		 * @param k the largest distance of interest
+		 * @param matches receives the indexes of the candidates at most k edits
+		 *        from the query, in order, and must hold candidates.size() ints
+		 * @return number of indexes written to matches
+		 */
+		public int matchAll(List<? extends CharSequence> candidates, int k, int[] matches) {
+			int count = 0;
+			for (int i = 0; i < candidates.size(); i++)
+				if (distance(candidates.get(i), k) <= k)
+					matches[count++] = i;
+			return count;
+		}
+
+		/**
+		 * Myers' algorithm. Bit j of pv and mv tells whether the distance in
+		 * row j + 1 of the current column is one more or one less than in row
+		 * j. score is the distance in the last row, which can fall by at most
+		 * one per remaining char, so the loop stops once it can not get back
+		 * to k
+		 */
+		private int bitParallel(CharSequence candidate, int k) {
+			int m = query.length;
+			int n = candidate.length();
+			long last = 1L << (m - 1);
+			long pv = m == 64 ? -1L : (1L << m) - 1;
+			long mv = 0;
+			int score = m;
+			for (int i = 0; i < n; i++) {
+				long eq = peq(fold(candidate.charAt(i)));
+				long xv = eq | mv;
+				long xh = (((eq & pv) + pv) ^ pv) | eq;
+				long ph = mv | ~(xh | pv);
+				long mh = pv & xh;
+				if ((ph & last) != 0)
+					score++;
+				else if ((mh & last) != 0)
+					score--;
+				// the first row of the table grows by one per char
+				ph = (ph << 1) | 1;
+				mh <<= 1;
+				pv = mh | ~(xv | ph);
+				mv = ph & xv;
+				if (score - (n - i - 1) > k)
+					return k + 1;
+			}
+			return Math.min(score, k + 1);
+		}
+
+		private long peq(char c) {
+			if (c < 256)
+				return peq[c];
+			long mask = 0;
+			for (int j = 0; j < query.length; j++)
+				if (query[j] == c)
+					mask |= 1L << j;
+			return mask;
+		}
+
+		/**
+		 * the edit distance table one column at a time, for long queries
+		 */
+		private int table(CharSequence candidate, int k) {
+			int m = query.length;
+			int n = candidate.length();
+			for (int j = 0; j <= m; j++)
+				column[j] = j;
+			for (int i = 0; i < n; i++) {
+				char c = fold(candidate.charAt(i));
+				int diagonal = column[0];
+				column[0] = i + 1;
+				int best = column[0];
+				for (int j = 1; j <= m; j++) {
+					int above = column[j];
+					column[j] = Math.min(Math.min(above, column[j - 1]) + 1, diagonal + (query[j - 1] == c ? 0 : 1));
+					diagonal = above;
+					best = Math.min(best, column[j]);
+				}
+				if (best > k)
+					return k + 1;
+			}
+			return Math.min(column[m], k + 1);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Times the adjacency checks of {@link EditDistance} against the original
+ * WordProcessor.isAdjacent on every ordered pair of words of a dictionary.
+ *
+ * JMH is not part of this project, so each check is run WARMUP_ROUNDS times
+ * to let the JIT compile it before ROUNDS timed runs, and the number of
+ * adjacent pairs is printed so no run can be optimized away. Before any
+ * timing, the new check is compared with the original on every pair.
+ *
+ * Usage: java EditDistanceBenchmark [word list] [synthetic size]
+ */
+public class EditDistanceBenchmark {
+
+	private static final int WARMUP_ROUNDS = 2;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) throws Exception {
+		String filepath = args.length > 0 ? args[0] : "word_list.txt";
+		int size = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		run(filepath, WordProcessor.getWordStream(filepath).collect(Collectors.toList()));
+		run("synthetic " + size, GraphBuildBenchmark.syntheticWords(size, 42));
+	}
+
+	private static void run(String name, List<String> words) {
+		long pairs = (long) words.size() * words.size();
+		System.out.println(String.format("%s: %d words, %d pairs", name, words.size(), pairs));
+		for (String word1 : words)
+			for (String word2 : words)
+				if (legacyIsAdjacent(word1, word2) != EditDistance.isAdjacent(word1, word2))
+					throw new IllegalStateException("checks disagree on " + word1 + ", " + word2);
+
+		report("legacy isAdjacent", pairs, () -> {
+			long adjacent = 0;
+			for (String word1 : words)
+				for (String word2 : words)
+					if (legacyIsAdjacent(word1, word2))
+						adjacent++;
+			return adjacent;
+		});
+		report("EditDistance.isAdjacent", pairs, () -> {
+			long adjacent = 0;
+			for (String word1 : words)
+				for (String word2 : words)
+					if (EditDistance.isAdjacent(word1, word2))
+						adjacent++;
+			return adjacent;
+		});
+		int[] matches = new int[words.size()];
+		for (int k = 1; k <= 2; k++) {
+			int distance = k;
+			report("Matcher.matchAll k=" + k, pairs, () -> {
+				long within = 0;
+				for (String word : words)
+					within += new EditDistance.Matcher(word).matchAll(words, distance, matches);
+				return within;
+			});
+		}
+		System.out.println();
+	}
+
+	private interface Check {
+		long count();
+	}
+
+	private static void report(String name, long pairs, Check check) {
+		for (int round = 0; round < WARMUP_ROUNDS; round++)
+			check.count();
+		long best = Long.MAX_VALUE;
+		long count = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			count = check.count();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		System.out.println(String.format("  %-26s %10.2f ms %8.1f ns/pair %10d matches", name, best / 1e6,
+				(double) best / pairs, count));
+	}
+
+	/**
+	 * WordProcessor.isAdjacent as it was before EditDistance: every single
+	 * edit of word1 is built as a new String and compared to word2
+	 */
+	static boolean legacyIsAdjacent(String word1, String word2) {
+		if(word1.equals(word2))
+			return false;
+		StringBuilder temp;
+		char[] alphabet = {'A','B','C','D','E','F','G','H','I','J','K','L','M','N','O','P','Q','R','S','T','U','V','W','X','Y','Z'};
+		
+		// replacement
+		for(int i = 0; i < word1.length(); i++) {
+			temp = new StringBuilder(word1);
+			for(int j = 0; j < alphabet.length; j++) {
+				temp.setCharAt(i, alphabet[j]);
+				if(temp.toString().equalsIgnoreCase(word2))
+					return true;
+			}
+		}
+		
+		// addition
+		for(int i = 0; i <= word1.length(); i++) {
+			for(int j = 0; j < alphabet.length; j++) {
+				temp = new StringBuilder(word1);
+				temp.insert(i, alphabet[j]);
+				if(temp.toString().equalsIgnoreCase(word2))
+					return true;
+			}
+		}
+		
+		// deletion
+		for(int i = 0; i < word1.length(); i++) {
+			temp = new StringBuilder(word1);
+			temp.deleteCharAt(i);
+			if(temp.toString().equalsIgnoreCase(word2))
+				return true;
+		}
+		return false;
+	}
+}
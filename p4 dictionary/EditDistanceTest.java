@@ -0,0 +1,83 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Junit test class to test class @see EditDistance against the original adjacency check and a
+ * plain edit distance table
+ */
+public class EditDistanceTest {
+
+	private static final List<String> TRICKY = Arrays.asList("", "A", "a", "B", "-", "AB", "ab", "Ab", "BA", "A-",
+			"-A", "AA", "AAA", "AAB", "ABA", "BAA", "CAT", "cat", "C-T", "C T", "CT", "CAST", "CATS", "SCAT", "ACT",
+			"\u0131T", "IT", "\u212aIT", "KIT", "\u00e9T", "\u00c9T", "ET", "STRASSE", "STRA\u00dfE");
+
+	private static int distance(String word1, String word2) {
+		int[][] table = new int[word1.length() + 1][word2.length() + 1];
+		for (int i = 0; i <= word1.length(); i++)
+			for (int j = 0; j <= word2.length(); j++)
+				table[i][j] = i == 0 || j == 0 ? i + j : Math.min(Math.min(table[i - 1][j], table[i][j - 1]) + 1,
+						table[i - 1][j - 1] + (EditDistance.equalsIgnoreCase(word1.charAt(i - 1), word2.charAt(j - 1)) ? 0 : 1));
+		return table[word1.length()][word2.length()];
+	}
+
+	private static String randomWord(Random random, int maxLength, int letters) {
+		char[] chars = new char[random.nextInt(maxLength + 1)];
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = (char) ((random.nextBoolean() ? 'A' : 'a') + random.nextInt(letters));
+		return new String(chars);
+	}
+
+	@Test
+	public final void isAdjacentMatchesLegacyCheckOnTrickyWords() {
+		for (String word1 : TRICKY)
+			for (String word2 : TRICKY)
+				assertEquals(String.format("adjacency of %s and %s", word1, word2),
+						EditDistanceBenchmark.legacyIsAdjacent(word1, word2), EditDistance.isAdjacent(word1, word2));
+	}
+
+	@Test
+	public final void isAdjacentMatchesLegacyCheckOnRandomWords() {
+		Random random = new Random(3);
+		List<String> words = new ArrayList<>(GraphBuildBenchmark.syntheticWords(300, 5));
+		for (int i = 0; i < 300; i++)
+			words.add(randomWord(random, 5, 3));
+		for (String word1 : words)
+			for (String word2 : words)
+				assertEquals(String.format("adjacency of %s and %s", word1, word2),
+						EditDistanceBenchmark.legacyIsAdjacent(word1, word2), EditDistance.isAdjacent(word1, word2));
+	}
+
+	@Test
+	public final void matcherMatchesEditDistanceTable() {
+		Random random = new Random(11);
+		for (int round = 0; round < 3000; round++) {
+			String query = randomWord(random, round % 10 == 0 ? 90 : 12, 4);
+			String candidate = randomWord(random, round % 10 == 0 ? 90 : 12, 4);
+			int expected = distance(query, candidate);
+			EditDistance.Matcher matcher = new EditDistance.Matcher(query);
+			for (int k = 0; k <= 4; k++)
+				assertEquals(String.format("distance from %s to %s within %d", query, candidate, k),
+						Math.min(expected, k + 1), matcher.distance(candidate, k));
+			assertEquals(String.format("distance from %s to %s", query, candidate), expected,
+					matcher.distance(candidate, 200));
+		}
+	}
+
+	@Test
+	public final void matchAllReturnsIndexesInOrder() {
+		List<String> candidates = Arrays.asList("CAT", "HEAT", "HAT", "cat", "CHAT", "AT", "HATS", "T");
+		EditDistance.Matcher matcher = new EditDistance.Matcher("hat");
+		int[] matches = new int[candidates.size()];
+		int count = matcher.matchAll(candidates, 1, matches);
+		assertEquals("number of matches", 7, count);
+		assertEquals("matches", Arrays.asList(0, 1, 2, 3, 4, 5, 6).toString(),
+				Arrays.toString(Arrays.copyOf(matches, count)));
+		assertEquals("number of matches within 0", 1, matcher.matchAll(candidates, 0, matches));
+	}
+}
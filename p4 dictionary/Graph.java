@@ -6,12 +6,17 @@ public class Graph<E> implements GraphADT<E> {
     protected int vertexCount;
     protected boolean[][] adjacencyMatrix;
     protected E[] vertices;
+    // id of every vertex, by equals
+    protected VertexIndex<E> ids;
+    // number of changes made to the graph, see getVersion
+    protected long version;
 
     @SuppressWarnings("unchecked")
     public Graph() {
         vertexCount = 0;
         this.adjacencyMatrix = new boolean[defCapacity][defCapacity];
         this.vertices = (E[]) (new Object[defCapacity]);
+        this.ids = new VertexIndex<E>(defCapacity);
     }
 
     /**
@@ -46,14 +51,9 @@ public class Graph<E> implements GraphADT<E> {
      */
     @Override
     public E addVertex(E vertex) {
-        if (vertex == null) {
+        if (vertex == null || ids.get(vertex) >= 0) {
             return null;
         }
-        for (int i = 0; i < vertexCount; i++) {
-            if (vertices[i] == vertex) {
-                return null;
-            }
-        }
         if (vertexCount == vertices.length)
             expandArrays();
 
@@ -62,7 +62,9 @@ public class Graph<E> implements GraphADT<E> {
             adjacencyMatrix[vertexCount][i] = false;
             adjacencyMatrix[i][vertexCount] = false;
         }
+        ids.put(vertex, vertexCount);
         vertexCount++;
+        version++;
         return vertex;
     }
 
@@ -77,25 +79,16 @@ public class Graph<E> implements GraphADT<E> {
      */
     @Override
     public E removeVertex(E vertex) {
-        boolean check = false;
-        int target = 0;
-        if (vertex == null) {
+        int target = ids.remove(vertex);
+        if (target < 0) {
             return null;
         }
-        for (int i = 0; i < vertexCount; i++) {
-
-            if (check == true) {
-                vertices[i - 1] = vertices[i];
-            }
-            if (vertices[i] == vertex) {
-                check = true;
-                vertices[i] = null;
-                target = i;
-            }
-        }
-        if (!check) {
-            return null;
+        // later vertices move down one place and keep their order
+        for (int i = target + 1; i < vertexCount; i++) {
+            vertices[i - 1] = vertices[i];
+            ids.put(vertices[i - 1], i - 1);
         }
+        vertices[vertexCount - 1] = null;
         vertexCount--;
         for (int i = target; i < vertexCount; i++) {
             for (int j = 0; j <= vertexCount; j++) {
@@ -107,6 +100,7 @@ public class Graph<E> implements GraphADT<E> {
                 adjacencyMatrix[j][i] = adjacencyMatrix[j][i + 1];
             }
         }
+        version++;
 
         return vertex;
     }
@@ -124,25 +118,23 @@ public class Graph<E> implements GraphADT<E> {
      */
     @Override
     public boolean addEdge(E vertex1, E vertex2) {
-        boolean T1 = false;
-        boolean T2 = false;
-        int index1 = 0;
-        int index2 = 0;
-        for (int i = 0; i < vertexCount; i++) {
-            if (vertices[i] == vertex1) {
-                T1 = true;
-                index1 = i;
-            }
-            if (vertices[i] == vertex2) {
-                T2 = true;
-                index2 = i;
-            }
-        }
-        if (!(T1 && T2) || (vertex1 == vertex2)) {
+        return addEdge(ids.get(vertex1), ids.get(vertex2));
+    }
+
+    /**
+     * Adds an edge between the vertices with ids index1 and index2
+     * 
+     * @return true if edge added, else return false if an id is not a vertex or the ids are equal
+     */
+    public boolean addEdge(int index1, int index2) {
+        if (!isValid(index1, index2)) {
             return false;
         }
-        adjacencyMatrix[index1][index2] = true;
-        adjacencyMatrix[index2][index1] = true;
+        if (!adjacencyMatrix[index1][index2]) {
+            adjacencyMatrix[index1][index2] = true;
+            adjacencyMatrix[index2][index1] = true;
+            version++;
+        }
         return true;
     }
 
@@ -159,25 +151,24 @@ public class Graph<E> implements GraphADT<E> {
      */
     @Override
     public boolean removeEdge(E vertex1, E vertex2) {
-        boolean T1 = false;
-        boolean T2 = false;
-        int index1 = 0;
-        int index2 = 0;
-        for (int i = 0; i < vertexCount; i++) {
-            if (vertices[i] == vertex1) {
-                T1 = true;
-                index1 = i;
-            }
-            if (vertices[i] == vertex2) {
-                T2 = true;
-                index2 = i;
-            }            
-        }
-        if (!(T1 && T2) || (vertex1 == vertex2)) {
+        return removeEdge(ids.get(vertex1), ids.get(vertex2));
+    }
+
+    /**
+     * Removes the edge between the vertices with ids index1 and index2
+     * 
+     * @return true if edge removed, else return false if an id is not a vertex or the ids are
+     *         equal
+     */
+    public boolean removeEdge(int index1, int index2) {
+        if (!isValid(index1, index2)) {
             return false;
         }
-        adjacencyMatrix[index1][index2] = false;
-        adjacencyMatrix[index2][index1] = false;
+        if (adjacencyMatrix[index1][index2]) {
+            adjacencyMatrix[index1][index2] = false;
+            adjacencyMatrix[index2][index1] = false;
+            version++;
+        }
         return true;
     }
 
@@ -194,21 +185,15 @@ public class Graph<E> implements GraphADT<E> {
      */
     @Override
     public boolean isAdjacent(E vertex1, E vertex2) {
-        boolean T1 = false;
-        boolean T2 = false;
-        int index1 = 0;
-        int index2 = 0;
-        for (int i = 0; i < vertexCount; i++) {
-            if (vertices[i] == vertex1) {
-                T1 = true;
-                index1 = i;
-            }
-            if (vertices[i] == vertex2) {
-                T2 = true;
-                index2 = i;
-            }
-        }
-        if (!(T1 && T2) || (vertex1 == vertex2)) {
+        return isAdjacent(ids.get(vertex1), ids.get(vertex2));
+    }
+
+    /**
+     * @return true if the vertices with ids index1 and index2 have an edge with each other, else
+     *         false (also if an id is not a vertex or the ids are equal)
+     */
+    public boolean isAdjacent(int index1, int index2) {
+        if (!isValid(index1, index2)) {
             return false;
         }
         return adjacencyMatrix[index1][index2];
@@ -224,37 +209,17 @@ public class Graph<E> implements GraphADT<E> {
      */
     @Override
     public Iterable<E> getNeighbors(E vertex) {
-        boolean check = false;
-        int target = 0;
-        if(vertex == null) {
+        int target = ids.get(vertex);
+        if (target < 0) {
             return null;
         }
-        for(int i = 0; i < vertexCount; i++) {
-            if(vertices[i] == vertex) {
-                check = true;
-                target = i;
-            }
-             
-        }
-        if(!check) {
-            return null;
-        }  
         List<E> neighbors = new ArrayList<E>();
-        for(int i = 0; i < vertexCount; i++) {
-            if(adjacencyMatrix[target][i] == true) {
-                neighbors.add(vertices[i]);
-                neighbors.add(vertices[target]);
-            }
-            else if(adjacencyMatrix[i][target] == true) {
+        for (int i = 0; i < vertexCount; i++) {
+            if (adjacencyMatrix[target][i]) {
                 neighbors.add(vertices[i]);
-                neighbors.add(vertices[target]);
             }
         }
-        while(neighbors.contains(vertex)) {
-            neighbors.remove(vertex);
-        }
         return neighbors;
-        
     }
 
     /**
@@ -270,5 +235,37 @@ public class Graph<E> implements GraphADT<E> {
         }
         return vertexList;
     }
-    
+
+    /**
+     * @return the id of vertex, or -1 if it is null or not in the graph. Ids run from 0 to
+     *         vertexCount() - 1 in the order the vertices were added, and the ids after a removed
+     *         vertex move down by one
+     */
+    public int idOf(E vertex) {
+        return ids.get(vertex);
+    }
+
+    /**
+     * @return the vertex with the given id
+     */
+    public E vertexAt(int index) {
+        return vertices[index];
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return a number that changes every time a vertex or edge is added or removed, so results
+     *         computed from the graph can be checked against the graph they came from
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private boolean isValid(int index1, int index2) {
+        return index1 >= 0 && index2 >= 0 && index1 < vertexCount && index2 < vertexCount
+                && index1 != index2;
+    }
 }
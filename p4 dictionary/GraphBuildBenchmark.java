@@ -0,0 +1,210 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Times building the dictionary graph by comparing every pair of words
+ * against building it from a {@link WordNeighborIndex}.
+ *
+ * The all-pairs build makes V * V calls to WordProcessor.isAdjacent, so it
+ * is only run on the word list and on a small synthetic dictionary. The
+ * indexed build is also run on synthetic dictionaries of 100k words and
+ * more, into a SparseGraph since a Graph of that size would need a
+ * boolean matrix of 10^10 entries. Every build of the same words is
+ * checked to find the same number of edges.
+ *
+ * Last, the edges of the largest synthetic dictionary are found with a
+ * ForkJoinPool of 1, 2, 4 ... threads up to the number of processors,
+ * checked to be the same edges in the same order as the sequential
+ * build, and the speedup over the sequential build is printed.
+ *
+ * Usage: java GraphBuildBenchmark [word list] [synthetic sizes...]
+ */
+public class GraphBuildBenchmark {
+
+	// each build is timed this many times and the fastest run is printed
+	private static final int ROUNDS = 3;
+	// largest dictionary the all-pairs build is run on
+	private static final int ALL_PAIRS_LIMIT = 1000;
+	private static final long SEED = 42;
+
+	public static void main(String[] args) throws Exception {
+		String filepath = args.length > 0 ? args[0] : "word_list.txt";
+		List<String> words = WordProcessor.getWordStream(filepath).collect(Collectors.toList());
+		run(filepath, words);
+
+		int[] sizes = {ALL_PAIRS_LIMIT, 100000, 200000};
+		if (args.length > 1) {
+			sizes = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++)
+				sizes[i - 1] = Integer.parseInt(args[i]);
+		}
+		for (int size : sizes)
+			run("synthetic " + size, syntheticWords(size, SEED));
+		int largest = Arrays.stream(sizes).max().getAsInt();
+		scaling(syntheticWords(largest, SEED), Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Times finding the edges of the words sequentially and with pools of 1
+	 * to maxThreads threads
+	 */
+	private static void scaling(List<String> words, int maxThreads) {
+		System.out.println(String.format("parallel edges, synthetic %d: %d processors", words.size(), maxThreads));
+		WordNeighborIndex index = new WordNeighborIndex(words);
+		int[][] sequential = new int[1][];
+		long base = time(() -> {
+			int[][] edges = {new int[64]};
+			int[] count = new int[1];
+			index.forEachEdge((id1, id2) -> {
+				if (count[0] + 2 > edges[0].length)
+					edges[0] = Arrays.copyOf(edges[0], edges[0].length * 2);
+				edges[0][count[0]++] = id1;
+				edges[0][count[0]++] = id2;
+			});
+			sequential[0] = Arrays.copyOf(edges[0], count[0]);
+		});
+		System.out.println(String.format("  %-22s %10.1f ms %10d edges", "sequential", base / 1e6, sequential[0].length / 2));
+		for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1
+				: Math.min(threads * 2, maxThreads)) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				int[][] parallel = new int[1][];
+				long best = time(() -> parallel[0] = index.edges(pool));
+				if (!Arrays.equals(sequential[0], parallel[0]))
+					throw new IllegalStateException(threads + " threads found different edges");
+				System.out.println(String.format("  %-22s %10.1f ms %10d edges %8.2fx", threads + " threads", best / 1e6,
+						parallel[0].length / 2, (double) base / best));
+			} finally {
+				pool.shutdown();
+			}
+		}
+		System.out.println();
+	}
+
+	/**
+	 * @return fastest of ROUNDS runs of task, in nanoseconds
+	 */
+	private static long time(Runnable task) {
+		long best = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			task.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	/**
+	 * Times every build that fits the size of the dictionary and prints one
+	 * line for each
+	 */
+	private static void run(String name, List<String> words) {
+		System.out.println(String.format("%s: %d words", name, words.size()));
+		long edges = -1;
+		if (words.size() <= ALL_PAIRS_LIMIT) {
+			edges = report("all pairs, Graph", words, edges, () -> countEdges(allPairs(words)));
+			edges = report("indexed, Graph", words, edges, () -> countEdges(indexed(words, new Graph<String>())));
+		}
+		report("indexed, SparseGraph", words, edges, () -> indexed(words, new SparseGraph<String>()).edgeCount());
+		System.out.println();
+	}
+
+	private interface Build {
+		long edges();
+	}
+
+	/**
+	 * @return number of edges found by build, which is checked against the
+	 *         number found by the builds before it, -1 if there were none
+	 */
+	private static long report(String name, List<String> words, long expected, Build build) {
+		long best = Long.MAX_VALUE;
+		long edges = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			edges = build.edges();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		if (expected >= 0 && edges != expected)
+			throw new IllegalStateException(name + " found " + edges + " edges instead of " + expected);
+		System.out.println(String.format("  %-22s %10.1f ms %10d edges %12.0f words/sec", name, best / 1e6, edges,
+				words.size() / (best / 1e9)));
+		return edges;
+	}
+
+	/**
+	 * the build GraphProcessor.populateGraph used before the index: every
+	 * word is compared to every other word
+	 */
+	private static Graph<String> allPairs(List<String> words) {
+		Graph<String> graph = new Graph<String>();
+		for (String w : words) {
+			graph.addVertex(w);
+			for (String s : words) {
+				if (WordProcessor.isAdjacent(w, s))
+					graph.addEdge(w, s);
+			}
+		}
+		return graph;
+	}
+
+	private static <G extends GraphADT<String>> G indexed(List<String> words, G graph) {
+		WordNeighborIndex index = new WordNeighborIndex(words);
+		for (String word : index.words())
+			graph.addVertex(word);
+		index.forEachEdge((id1, id2) -> graph.addEdge(index.word(id1), index.word(id2)));
+		return graph;
+	}
+
+	private static long countEdges(GraphADT<String> graph) {
+		long ends = 0;
+		for (String vertex : graph.getAllVertices())
+			for (String neighbor : graph.getNeighbors(vertex))
+				ends++;
+		return ends / 2;
+	}
+
+	/**
+	 * Makes a dictionary of distinct upper case words. A third of them are
+	 * random words of 3 to 9 letters and the rest are one random edit away
+	 * from an earlier word, so the words form ladders like a real dictionary
+	 */
+	static List<String> syntheticWords(int count, long seed) {
+		Random random = new Random(seed);
+		List<String> words = new ArrayList<String>(count);
+		Set<String> seen = new HashSet<String>();
+		StringBuilder word = new StringBuilder();
+		while (words.size() < count) {
+			word.setLength(0);
+			if (words.isEmpty() || random.nextInt(3) == 0) {
+				int length = 3 + random.nextInt(7);
+				for (int i = 0; i < length; i++)
+					word.append(letter(random));
+			} else {
+				word.append(words.get(random.nextInt(words.size())));
+				int op = random.nextInt(3);
+				if (op == 0) {
+					word.setCharAt(random.nextInt(word.length()), letter(random));
+				} else if (op == 1 || word.length() < 2) {
+					word.insert(random.nextInt(word.length() + 1), letter(random));
+				} else {
+					word.deleteCharAt(random.nextInt(word.length()));
+				}
+			}
+			String next = word.toString();
+			if (seen.add(next))
+				words.add(next);
+		}
+		return words;
+	}
+
+	private static char letter(Random random) {
+		return (char) ('A' + random.nextInt(26));
+	}
+}
@@ -1,5 +1,6 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class GraphProcessor {
@@ -7,14 +8,41 @@ public class GraphProcessor {
 	 /**
      * Graph which stores the dictionary words and their associated connections
      */
-    private Graph<String> graph;
+    private SparseGraph<String> graph;
+
+    /**
+     * Answers the shortest path queries on graph by breadth first search
+     */
+    private ShortestPathEngine<String> paths;
+
+    /**
+     * Number of word pairs whose results are cached by default
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * Results of recent queries, checked against the version of graph
+     */
+    private PathCache<String> cache;
 
     /**
      * Constructor for this class. Initializes instances variables to set the starting state of the object
      */
 	public GraphProcessor() 
 	{
-		this.graph = new Graph<>();
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+    /**
+     * Constructor for this class that caches the results of at most cacheSize word pairs
+     * 
+     * @param cacheSize number of word pairs whose paths and distances are cached
+     */
+	public GraphProcessor(int cacheSize) 
+	{
+		this.graph = new SparseGraph<>();
+		this.paths = new ShortestPathEngine<>(graph);
+		this.cache = new PathCache<>(cacheSize);
 	}
 	        
 	 /**
@@ -25,7 +53,8 @@ public class GraphProcessor {
      * Reads a word from the file and adds it as a vertex to a graph.
      * Repeat for all words.
      * 
-     * For all possible pairs of vertices, finds if the pair of vertices is adjacent {@link WordProcessor#isAdjacent(String, String)}
+     * For all pairs of vertices that share a bucket of the {@link WordNeighborIndex}, finds if the pair of vertices
+     * is adjacent {@link WordProcessor#isAdjacent(String, String)}
      * If a pair is adjacent, adds an undirected and unweighted edge between the pair of vertices in the graph.
      *
      * Log any issues encountered (print the issue details)
@@ -34,9 +63,27 @@ public class GraphProcessor {
      * @return Integer the number of vertices (words) added; return -1 if file not found or if encountering other exceptions
      */
 	public Integer populateGraph(String filepath)
+	{
+		return populateGraph(filepath, 1);
+	}
+	
+	 /**
+     * Builds a graph from the words in a file, the same as {@link #populateGraph(String)}, finding the edges
+     * with the given number of threads. The words are split into ranges and the edges of each range are found
+     * by a task of a {@link ForkJoinPool}, see {@link WordNeighborIndex#edges(ForkJoinPool)}. The edges are
+     * added in the same order as the sequential build, so the graph is the same for any number of threads.
+     * 
+     * @param filepath file path to the dictionary
+     * @param threads number of threads to find edges with, 1 to find them on the calling thread
+     * @return Integer the number of vertices (words) added; return -1 if file not found or if encountering other exceptions
+     */
+	public Integer populateGraph(String filepath, int threads)
 	{
 		
-		graph = new Graph<String>();
+		graph = new SparseGraph<String>();
+		paths = new ShortestPathEngine<String>(graph);
+		// a new graph starts again at version 0, so no entry can be checked against it
+		cache.clear();
 		List<String> words;
 		try {
 			words = WordProcessor.getWordStream(filepath).collect(Collectors.toList());
@@ -44,63 +91,36 @@ public class GraphProcessor {
 			System.out.println(e);
 			return -1; 
 		}
-		Integer count = 0;
-		for(String w : words)
-		{
+		// only words that share a wildcard bucket are compared, see WordNeighborIndex
+		WordNeighborIndex index = new WordNeighborIndex(words);
+		for(String w : index.words())
 			graph.addVertex(w);
-			for(String s : words)
-			{
-				if(WordProcessor.isAdjacent(w,s))
-					graph.addEdge(w,s);
+		if(threads <= 1) {
+			index.forEachEdge(graph::addEdge);
+		} else {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				int[] edges = index.edges(pool);
+				for(int k = 0; k < edges.length; k += 2)
+					graph.addEdge(edges[k], edges[k + 1]);
+			} finally {
+				pool.shutdown();
 			}
-			count++;
 		}
 		
 		shortestPathPrecomputation();
-		return count;
+		return words.size();
 	}
 	
 	 /**
-     * Builds a graph from the words in a file. Populate an internal graph, by adding words from the dictionary as vertices
-     * and finding and adding the corresponding connections (edges) between 
-     * existing words.
-     * 
-     * Reads a word from the file and adds it as a vertex to a graph.
-     * Repeat for all words.
-     * 
-     * For all possible pairs of vertices, finds if the pair of vertices is adjacent {@link WordProcessor#isAdjacent(String, String)}
-     * If a pair is adjacent, adds an undirected and unweighted edge between the pair of vertices in the graph.
-     *
-     * Log any issues encountered (print the issue details)
+     * Builds a graph from the words in a file, the same as {@link #populateGraph(String)}
      * 
      * @param filepath file path to the dictionary
      * @return Integer the number of vertices (words) added; return -1 if file not found or if encountering other exceptions
      */
 	public Integer populate(String filepath)
 	{
-		
-		graph = new Graph<String>();
-		List<String> words;
-		try {
-			words = WordProcessor.getWordStream(filepath).collect(Collectors.toList());
-		} catch(Exception e) {
-			System.out.println(e);
-			return -1; 
-		}
-		Integer count = 0;
-		for(String w : words)
-		{
-			graph.addVertex(w);
-			for(String s : words)
-			{
-				if(WordProcessor.isAdjacent(w,s))
-					graph.addEdge(w,s);
-			}
-			count++;
-		}
-		
-		shortestPathPrecomputation();
-		return count;
+		return populateGraph(filepath);
 	}
     
 	
@@ -117,33 +137,27 @@ public class GraphProcessor {
      *  shortest path between cat and wheat is the following list of words:
      *     [cat, hat, heat, wheat]
      * 
+     * The words are trimmed and upper cased like the words of the dictionary. The path is found by a
+     * bidirectional breadth first search, see {@link ShortestPathEngine}, unless the pair was asked for
+     * since the graph last changed, in which case it comes from the {@link PathCache}. It is a new list on
+     * every call.
+     * 
      * @param word1 first word
      * @param word2 second word
-     * @return List<String> list of the words
+     * @return List<String> list of the words, empty if word1 equals word2, if either word is not in the
+     *         dictionary or if there is no path
      */
     public List<String> getShortestPath(String word1, String word2) {
-    	
-    		//1. why GraphADT type? We can not create our own methods?
-    		int src=0;
-    		int dist = 0;
-    		for(int i = 0; i < graph.vertices.length; i++) {
-    			if(graph.vertices[i] == word1) src = i;
-    			if(graph.vertices[i] == word2) dist = i;
-
+    		word1 = normalize(word1);
+    		word2 = normalize(word2);
+    		if(word1 == null || word2 == null)
+    			return new ArrayList<String>();
+    		List<String> path = cache.getPath(word1, word2, graph.getVersion());
+    		if(path == null) {
+    			path = paths.path(word1, word2);
+    			cache.putPath(word1, word2, graph.getVersion(), path.size() - 1, path);
     		}
-    		int[][] m = new int[graph.vertexCount][graph.vertexCount];
-    		for(int i =0; i<graph.vertexCount; i ++) {
-
-    			for(int j =0; j<graph.vertexCount; j ++) {
-    				if(i == j) m[i][j] = 0;
-    				else if(graph.adjacencyMatrix[i][j] == true) {
-    					m[i][j] = 1;
-    				}
-    				else m[i][j] = 99999;
-    			}			
-    		}
-    		FloydWarshell(m,graph.vertexCount);
-    		return P;
+    		return path;
     }
 
     /**
@@ -161,137 +175,45 @@ public class GraphProcessor {
      * 
      * @param word1 first word
      * @param word2 second word
-     * @return Integer distance
+     * @return Integer distance, -1 if word1 equals word2, if either word is not in the dictionary or if
+     *         there is no path
      */
     public Integer getShortestDistance(String word1, String word2) {
-    		int src=0;
-    		int dist = 0;
-    		for(int i = 0; i < graph.vertices.length; i++) {
-    			if(graph.vertices[i] == word1) src = i;
-    			if(graph.vertices[i] == word2) dist = i;
-
-    		}
-    		int[][] m = new int[graph.vertexCount][graph.vertexCount];
-    		for(int i =0; i<graph.vertexCount; i ++) {
-
-    			for(int j =0; j<graph.vertexCount; j ++) {
-    				if(i == j) m[i][j] = 0;
-    				else if(graph.adjacencyMatrix[i][j] == true) {
-    					m[i][j] = 1;
-    				}
-    				else m[i][j] = 99999;
-    			}			
+    		word1 = normalize(word1);
+    		word2 = normalize(word2);
+    		if(word1 == null || word2 == null)
+    			return -1;
+    		Integer distance = cache.getDistance(word1, word2, graph.getVersion());
+    		if(distance == null) {
+    			distance = paths.distance(word1, word2);
+    			cache.putDistance(word1, word2, graph.getVersion(), distance);
     		}
-        return FloydWarshell(m,graph.vertexCount).length;
+    		return distance;
     }
     
     /**
-     * Computes shortest paths and distances between all possible pairs of vertices.
-     * This method is called after every set of updates in the graph to recompute the path information.
-     * Any shortest path algorithm can be used (Djikstra's or Floyd-Warshall recommended).
+     * Prepares the graph for shortest path queries.
+     * This method is called after every set of updates in the graph.
+     * Paths are found by a breadth first search per query, which costs O(V + E), so there is nothing to
+     * compute ahead of time for every pair; the neighbor lists are packed for fast reading instead.
      */
     public void shortestPathPrecomputation() {
-    		ArrayList<Integer> a = new ArrayList<Integer>();
-    		for( String src: graph.getAllVertices()) {
-    			for(String dest: graph.getAllVertices()) {
-    				a.add(getShortestDistance(src,dest));
-    			}
-    		}
+    		graph.freeze();
     }
- 
     
-    /* The following part is used for finding shortest path by using Floyd's Algorithm*/
-	ArrayList<String> P = new ArrayList<String>();
-
-    private void addPath(int[][] path, int v, int u)
-    {
-        if (path[v][u] == v)
-            return;
-
-        addPath(path, v, path[v][u]);
-        P.add(graph.vertices[path[v][u]]);
-    }
-
-    // Function to add the shortest cost with path
-    // information between all pairs of vertices
-    private void addSolution(int[][] cost, int[][] path, int N)
-    {
-        for (int v = 0; v < N; v++)
-        {
-            for (int u = 0; u < N; u++)
-            {
-                if (u != v && path[v][u] != -1)
-                {
-                		P.add(graph.vertices[v]);
-                		addPath(path,v,u);
-                		P.add(graph.vertices[u]);
-//                    System.out.print("Shortest Path from vertex " + graph.vertices[v] +
-//                            " to vertex " + graph.vertices[u] + " is (" + graph.vertices[v] + " ");
-//                    printPath(path, v, u);
-//                    System.out.println(graph.vertices[u] + ")");
-                }
-            }
-        }
+    /**
+     * @return the cache of query results, for its hit ratio and eviction counts
+     */
+    public PathCache<String> getPathCache() {
+    		return cache;
     }
-
-    // Function to run Floyd-Warshell algorithm
-    public int[][] FloydWarshell(int[][] adjMatrix, int N)
-    {
-        // cost[] and parent[] stores shortest-path
-        // (shortest-cost/shortest route) information
-        int[][] cost = new int[N][N];
-        int[][] path = new int[N][N];
-
-        // initialize cost[] and parent[]
-        for (int v = 0; v < N; v++)
-        {
-            for (int u = 0; u < N; u++)
-            {
-                // initally cost would be same as weight
-                // of the edge
-                cost[v][u] = adjMatrix[v][u];
-
-                if (v == u)
-                    path[v][u] = 0;
-                else if (cost[v][u] != Integer.MAX_VALUE)
-                    path[v][u] = v;
-                else
-                    path[v][u] = -1;
-            }
-        }
-
-        // run Floyd-Warshell
-        for (int k = 0; k < N; k++)
-        {
-            for (int v = 0; v < N; v++)
-            {
-                for (int u = 0; u < N; u++)
-                {
-                    // If vertex k is on the shortest path from v to u,
-                    // then update the value of cost[v][u], path[v][u]
-
-                    if (cost[v][k] != Integer.MAX_VALUE
-                            && cost[k][u] != Integer.MAX_VALUE
-                            && (cost[v][k] + cost[k][u] < cost[v][u]))
-                    {
-                        cost[v][u] = cost[v][k] + cost[k][u];
-                        path[v][u] = path[k][u];
-                    }
-                }
-
-                // if diagonal elements become negative, the
-                // graph contains a negative weight cycle
-                if (cost[v][v] < 0)
-                {
-                    System.out.println("Negative Weight Cycle Found!!");
-                    return null;
-                }
-            }
-        }
-
-        // Print the shortest path between all pairs of vertices
-        addSolution(cost, path, N);
-        return path;
+    
+    /**
+     * @return word in the form the words of the dictionary are stored in, see
+     *         {@link WordProcessor#getWordStream(String)}
+     */
+    private static String normalize(String word) {
+    		return word == null ? null : word.trim().toUpperCase();
     }
 	
 }
@@ -333,4 +333,17 @@ public class GraphTest {
 		assertEquals("num of vertices in the graph", numOfVertices-2, verticesCount);
 	}
 
+	@Test
+	public final void equalVerticesAreTheSameVertex() {
+		for (String itrVertex : vertices)
+			this.graph.addVertex(itrVertex);
+		String copy = new String(vertices.get(2));
+		assertEquals("return value if an equal vertex is passed to addVertex", null, this.graph.addVertex(copy));
+		assertEquals("return value if an equal vertex is passed to addEdge", true, this.graph.addEdge(copy, vertices.get(3)));
+		assertEquals("adjacency of the original vertex", true, this.graph.isAdjacent(vertices.get(2), vertices.get(3)));
+		assertEquals("return value if an equal vertex is passed to removeVertex", copy, this.graph.removeVertex(copy));
+		assertEquals("neighbors of the removed vertex", null, this.graph.getNeighbors(vertices.get(2)));
+		assertEquals("adjacency of the removed vertex", false, this.graph.isAdjacent(vertices.get(2), vertices.get(3)));
+	}
+
 }
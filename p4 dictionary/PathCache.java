@@ -0,0 +1,217 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the results of recent shortest path queries between pairs of
+ * vertices.
+ *
+ * The graph is undirected, so the pairs (a, b) and (b, a) share one entry
+ * and a path saved in one direction is read back reversed for the other.
+ * Entries are kept in a LinkedHashMap in access order, and the least
+ * recently used entry is evicted once there are more than maximumSize.
+ *
+ * Every entry records the version of the graph it was computed from. A
+ * lookup passes the current version of the graph, and an entry from an
+ * older version is removed at that point and counted as a miss, so a
+ * change to the graph never has to walk the cache.
+ */
+public class PathCache<E> {
+
+    /**
+     * The cached result of one query
+     */
+    private static final class Entry<E> {
+        final long version;
+        final int distance;
+        // vertices of the path from the first vertex of the key, null if only the distance is known
+        final List<E> path;
+
+        Entry(long version, int distance, List<E> path) {
+            this.version = version;
+            this.distance = distance;
+            this.path = path;
+        }
+    }
+
+    /**
+     * An unordered pair of vertices
+     */
+    private static final class Key<E> {
+        final E first;
+        final E second;
+
+        Key(E first, E second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key<?> other = (Key<?>) o;
+            return first.equals(other.first) && second.equals(other.second)
+                    || first.equals(other.second) && second.equals(other.first);
+        }
+
+        @Override
+        public int hashCode() {
+            return first.hashCode() + second.hashCode();
+        }
+    }
+
+    private final int maximumSize;
+    private final LinkedHashMap<Key<E>, Entry<E>> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    // entries removed because the graph changed after they were computed
+    private long staleDiscards;
+
+    /**
+     * @param maximumSize most entries kept, at least 1
+     */
+    public PathCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Key<E>, Entry<E>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<E>, Entry<E>> eldest) {
+                if (size() > PathCache.this.maximumSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param source the first vertex, non-null
+     * @param target the second vertex, non-null
+     * @param version the current version of the graph
+     * @return a copy of the cached path from source to target, or null if it is not cached for
+     *         this version of the graph
+     */
+    public List<E> getPath(E source, E target, long version) {
+        Key<E> key = new Key<E>(source, target);
+        Entry<E> entry = lookup(key, version, true);
+        if (entry == null) {
+            return null;
+        }
+        List<E> path = new ArrayList<E>(entry.path);
+        if (!entry.path.isEmpty() && !path.get(0).equals(source)) {
+            Collections.reverse(path);
+        }
+        return path;
+    }
+
+    /**
+     * @param source the first vertex, non-null
+     * @param target the second vertex, non-null
+     * @param version the current version of the graph
+     * @return the cached distance between source and target, or null if it is not cached for
+     *         this version of the graph
+     */
+    public Integer getDistance(E source, E target, long version) {
+        Entry<E> entry = lookup(new Key<E>(source, target), version, false);
+        return entry == null ? null : entry.distance;
+    }
+
+    /**
+     * Caches the path from source to target, which also gives their distance
+     *
+     * @param path the vertices of the path from source to target, empty if there is none
+     */
+    public void putPath(E source, E target, long version, int distance, List<E> path) {
+        entries.put(new Key<E>(source, target), new Entry<E>(version, distance, new ArrayList<E>(path)));
+    }
+
+    /**
+     * Caches the distance between source and target, keeping a path cached for the same
+     * version of the graph
+     */
+    public void putDistance(E source, E target, long version, int distance) {
+        Key<E> key = new Key<E>(source, target);
+        Entry<E> entry = entries.get(key);
+        if (entry == null || entry.version != version || entry.path == null) {
+            entries.put(key, new Entry<E>(version, distance, null));
+        }
+    }
+
+    /**
+     * removes every entry, keeping the statistics
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getStaleDiscards() {
+        return staleDiscards;
+    }
+
+    /**
+     * @return share of lookups that found a result, 0 if there were none
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * sets the hit, miss, eviction and stale discard counts back to zero
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        staleDiscards = 0;
+    }
+
+    /**
+     * @return the entry for key if it was computed from this version of the graph and holds a
+     *         path when one is needed, else null. A stale entry is removed
+     */
+    private Entry<E> lookup(Key<E> key, long version, boolean needPath) {
+        Entry<E> entry = entries.get(key);
+        if (entry != null && entry.version != version) {
+            entries.remove(key);
+            staleDiscards++;
+            entry = null;
+        }
+        if (entry == null || needPath && entry.path == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+}
@@ -0,0 +1,114 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit test class to test class @see PathCache and the graph versions it is checked against
+ */
+public class PathCacheTest {
+
+	private PathCache<String> cache;
+
+	@Before
+	public void setUp() throws Exception {
+		this.cache = new PathCache<>(2);
+	}
+
+	@Test
+	public final void symmetricPairsShareOneEntry() {
+		this.cache.putPath("CAT", "WHEAT", 0, 3, Arrays.asList("CAT", "HAT", "HEAT", "WHEAT"));
+		assertEquals("path from CAT to WHEAT", Arrays.asList("CAT", "HAT", "HEAT", "WHEAT"), this.cache.getPath("CAT", "WHEAT", 0));
+		assertEquals("path from WHEAT to CAT", Arrays.asList("WHEAT", "HEAT", "HAT", "CAT"), this.cache.getPath("WHEAT", "CAT", 0));
+		assertEquals("distance from WHEAT to CAT", 3, (int) this.cache.getDistance("WHEAT", "CAT", 0));
+		assertEquals("number of entries", 1, this.cache.size());
+		assertEquals("hits", 3, this.cache.getHits());
+		assertEquals("hit ratio", true, this.cache.hitRatio() == 1.0);
+	}
+
+	@Test
+	public final void cachedPathCanNotBeChangedByCaller() {
+		this.cache.putPath("CAT", "HAT", 0, 1, Arrays.asList("CAT", "HAT"));
+		List<String> path = this.cache.getPath("CAT", "HAT", 0);
+		path.clear();
+		assertEquals("path from CAT to HAT", Arrays.asList("CAT", "HAT"), this.cache.getPath("CAT", "HAT", 0));
+	}
+
+	@Test
+	public final void distanceOnlyEntryIsAMissForPaths() {
+		this.cache.putDistance("CAT", "HAT", 0, 1);
+		assertEquals("path from CAT to HAT", null, this.cache.getPath("CAT", "HAT", 0));
+		assertEquals("distance from CAT to HAT", 1, (int) this.cache.getDistance("HAT", "CAT", 0));
+		assertEquals("misses", 1, this.cache.getMisses());
+		assertEquals("hits", 1, this.cache.getHits());
+	}
+
+	@Test
+	public final void leastRecentlyUsedEntryIsEvicted() {
+		this.cache.putDistance("A", "B", 0, 1);
+		this.cache.putDistance("A", "C", 0, 1);
+		this.cache.getDistance("B", "A", 0);
+		this.cache.putDistance("A", "D", 0, 1);
+		assertEquals("evictions", 1, this.cache.getEvictions());
+		assertEquals("distance from A to C", null, this.cache.getDistance("A", "C", 0));
+		assertEquals("distance from A to B", 1, (int) this.cache.getDistance("A", "B", 0));
+	}
+
+	@Test
+	public final void staleEntriesAreDiscardedOnLookup() {
+		this.cache.putDistance("A", "B", 4, 1);
+		assertEquals("distance for a later version", null, this.cache.getDistance("A", "B", 5));
+		assertEquals("stale discards", 1, this.cache.getStaleDiscards());
+		assertEquals("number of entries", 0, this.cache.size());
+		assertEquals("hit ratio", true, this.cache.hitRatio() == 0.0);
+	}
+
+	@Test
+	public final void graphVersionsChangeOnlyWhenTheGraphDoes() {
+		Graph<String> graph = new Graph<>();
+		SparseGraph<String> sparse = new SparseGraph<>();
+		for (GraphADT<String> g : Arrays.<GraphADT<String>>asList(graph, sparse)) {
+			g.addVertex("CAT");
+			g.addVertex("HAT");
+			g.addEdge("CAT", "HAT");
+		}
+		long version = graph.getVersion();
+		long sparseVersion = sparse.getVersion();
+		graph.addEdge("CAT", "HAT");
+		graph.addVertex("CAT");
+		sparse.addEdge("HAT", "CAT");
+		sparse.addVertex("CAT");
+		sparse.freeze();
+		assertEquals("version of Graph after no change", version, graph.getVersion());
+		assertEquals("version of SparseGraph after no change", sparseVersion, sparse.getVersion());
+		graph.removeEdge("CAT", "HAT");
+		sparse.removeEdge("CAT", "HAT");
+		assertEquals("version of Graph after removeEdge", true, graph.getVersion() > version);
+		assertEquals("version of SparseGraph after removeEdge", true, sparse.getVersion() > sparseVersion);
+		version = graph.getVersion();
+		sparseVersion = sparse.getVersion();
+		graph.removeVertex("HAT");
+		sparse.removeVertex("HAT");
+		assertEquals("version of Graph after removeVertex", true, graph.getVersion() > version);
+		assertEquals("version of SparseGraph after removeVertex", true, sparse.getVersion() > sparseVersion);
+	}
+
+	@Test
+	public final void graphProcessorAnswersRepeatedQueriesFromTheCache() {
+		GraphProcessor processor = new GraphProcessor(16);
+		processor.populateGraph("testWordList.txt");
+		assertEquals("path from cat to wheat", Arrays.asList("CAT", "HAT", "HEAT", "WHEAT"), processor.getShortestPath("cat", "wheat"));
+		assertEquals("path from wheat to cat", Arrays.asList("WHEAT", "HEAT", "HAT", "CAT"), processor.getShortestPath("wheat", "cat"));
+		assertEquals("distance from cat to wheat", 3, (int) processor.getShortestDistance("cat", "wheat"));
+		assertEquals("distance from cat to kit", -1, (int) processor.getShortestDistance("cat", "kit"));
+		assertEquals("distance from kit to cat", -1, (int) processor.getShortestDistance("kit", "cat"));
+		PathCache<String> cache = processor.getPathCache();
+		assertEquals("hits", 3, cache.getHits());
+		assertEquals("misses", 2, cache.getMisses());
+		processor.populateGraph("testWordList.txt");
+		assertEquals("number of entries after populateGraph", 0, cache.size());
+	}
+}
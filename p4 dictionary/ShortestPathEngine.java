@@ -0,0 +1,202 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers shortest path queries on an unweighted SparseGraph one query at
+ * a time, by breadth first search.
+ *
+ * A point-to-point query searches from both ends at once, one level at a
+ * time from the side with the smaller frontier, and stops as soon as the
+ * two searches touch. On a word graph this visits far fewer vertices than
+ * a search from one end, and a query never costs more than O(V + E).
+ *
+ * The engine keeps one mark, one parent and one queue entry per vertex
+ * and reuses them for every query. A vertex is marked with the stamp of
+ * the current query (one stamp per side), so nothing has to be cleared
+ * between queries and a distance query allocates nothing. The arrays grow
+ * when the graph does. An engine is not thread safe.
+ */
+public class ShortestPathEngine<E> {
+    private static final int NONE = -1;
+    private final SparseGraph<E> graph;
+    // stamp of the side that last reached each vertex
+    private int[] mark;
+    // vertex each vertex was reached from, NONE for the two ends
+    private int[] parent;
+    // the forward search starts at the source and the backward one at the target
+    private int[] forwardQueue;
+    private int[] backwardQueue;
+    // stamp of the forward search of the current query, the backward one is stamp + 1
+    private int stamp;
+    // per side state of the current query, forward at 0 and backward at 1
+    private final int[] heads = new int[2];
+    private final int[] tails = new int[2];
+    private final int[] depths = new int[2];
+    // the two vertices of the edge where the searches met
+    private final int[] meet = new int[2];
+
+    public ShortestPathEngine(SparseGraph<E> graph) {
+        this.graph = graph;
+        this.mark = new int[0];
+        this.parent = new int[0];
+        this.forwardQueue = new int[0];
+        this.backwardQueue = new int[0];
+        this.stamp = 1;
+    }
+
+    /**
+     * @param source the first vertex
+     * @param target the second vertex
+     * @return number of edges of a shortest path between the vertices, or -1 if they are equal,
+     *         either is not in the graph, or there is no path
+     */
+    public int distance(E source, E target) {
+        return distance(graph.idOf(source), graph.idOf(target));
+    }
+
+    /**
+     * @return number of edges of a shortest path between the vertices with the given ids, or -1
+     *         if the ids are equal, either is not a vertex, or there is no path
+     */
+    public int distance(int source, int target) {
+        return search(source, target);
+    }
+
+    /**
+     * @param source the first vertex
+     * @param target the second vertex
+     * @return the vertices of a shortest path from source to target, both included, or an empty
+     *         list if they are equal, either is not in the graph, or there is no path
+     */
+    public List<E> path(E source, E target) {
+        int distance = search(graph.idOf(source), graph.idOf(target));
+        if (distance < 0) {
+            return new ArrayList<E>();
+        }
+        List<E> path = new ArrayList<E>(distance + 1);
+        for (int v = meet[0]; v != NONE; v = parent[v]) {
+            path.add(graph.vertexAt(v));
+        }
+        Collections.reverse(path);
+        for (int v = meet[1]; v != NONE; v = parent[v]) {
+            path.add(graph.vertexAt(v));
+        }
+        return path;
+    }
+
+    /**
+     * Searches from one vertex to every vertex it can reach
+     *
+     * @param source id of the vertex to search from
+     * @param distances receives the number of edges of a shortest path from source to each
+     *        vertex, -1 for vertices that can not be reached, and must hold vertexCount() ints
+     * @return number of vertices reached, including source, 0 if source is not a vertex
+     */
+    public int distancesFrom(int source, int[] distances) {
+        int n = graph.vertexCount();
+        Arrays.fill(distances, 0, n, NONE);
+        if (source < 0 || source >= n) {
+            return 0;
+        }
+        ensureCapacity(n);
+        int[] queue = forwardQueue;
+        int tail = 0;
+        queue[tail++] = source;
+        distances[source] = 0;
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            for (int k = 0, degree = graph.degree(u); k < degree; k++) {
+                int v = graph.neighbor(u, k);
+                if (distances[v] == NONE) {
+                    distances[v] = distances[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Bidirectional search. The sides met on the edge meet[0] - meet[1],
+     * and the first meeting found is on a shortest path: a whole level is
+     * expanded at a time, and a vertex that the other side reached at less
+     * than its current depth has all its neighbors reached by that side
+     * already, so it would have been met a level earlier
+     *
+     * @return length of the path through meet, or -1 if there is none
+     */
+    private int search(int source, int target) {
+        int n = graph.vertexCount();
+        if (source < 0 || target < 0 || source >= n || target >= n || source == target) {
+            return NONE;
+        }
+        ensureCapacity(n);
+        if (stamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+        stamp += 2;
+        start(0, source, forwardQueue);
+        start(1, target, backwardQueue);
+        while (heads[0] < tails[0] && heads[1] < tails[1]) {
+            int side = tails[0] - heads[0] <= tails[1] - heads[1] ? 0 : 1;
+            if (expand(side, side == 0 ? forwardQueue : backwardQueue)) {
+                return depths[0] + depths[1] + 1;
+            }
+        }
+        return NONE;
+    }
+
+    private void start(int side, int vertex, int[] queue) {
+        mark[vertex] = stamp + side;
+        parent[vertex] = NONE;
+        queue[0] = vertex;
+        heads[side] = 0;
+        tails[side] = 1;
+        depths[side] = 0;
+    }
+
+    /**
+     * expands the current level of one side
+     *
+     * @return true if a neighbor was already reached by the other side
+     */
+    private boolean expand(int side, int[] queue) {
+        int own = stamp + side;
+        int other = stamp + 1 - side;
+        int end = tails[side];
+        int tail = end;
+        for (int head = heads[side]; head < end; head++) {
+            int u = queue[head];
+            for (int k = 0, degree = graph.degree(u); k < degree; k++) {
+                int v = graph.neighbor(u, k);
+                if (mark[v] == other) {
+                    meet[side] = u;
+                    meet[1 - side] = v;
+                    return true;
+                }
+                if (mark[v] != own) {
+                    mark[v] = own;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        heads[side] = end;
+        tails[side] = tail;
+        depths[side]++;
+        return false;
+    }
+
+    private void ensureCapacity(int n) {
+        if (mark.length < n) {
+            int capacity = Math.max(n, mark.length * 2);
+            mark = Arrays.copyOf(mark, capacity);
+            parent = new int[capacity];
+            forwardQueue = new int[capacity];
+            backwardQueue = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,99 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit test class to test class @see ShortestPathEngine and the queries of @see GraphProcessor
+ */
+public class ShortestPathEngineTest {
+
+	private SparseGraph<String> graph;
+	private ShortestPathEngine<String> engine;
+
+	@Before
+	public void setUp() throws Exception {
+		this.graph = new SparseGraph<>();
+		for (String vertex : new String[] {"CAT", "RAT", "HAT", "NEAT", "HEAT", "WHEAT", "KIT"})
+			this.graph.addVertex(vertex);
+		this.graph.addEdge("CAT", "RAT");
+		this.graph.addEdge("CAT", "HAT");
+		this.graph.addEdge("RAT", "HAT");
+		this.graph.addEdge("HAT", "HEAT");
+		this.graph.addEdge("NEAT", "HEAT");
+		this.graph.addEdge("HEAT", "WHEAT");
+		this.engine = new ShortestPathEngine<>(this.graph);
+	}
+
+	@Test
+	public final void findsShortestPathAndDistance() {
+		assertEquals("path from CAT to WHEAT", Arrays.asList("CAT", "HAT", "HEAT", "WHEAT"), this.engine.path("CAT", "WHEAT"));
+		assertEquals("path from WHEAT to CAT", Arrays.asList("WHEAT", "HEAT", "HAT", "CAT"), this.engine.path("WHEAT", "CAT"));
+		assertEquals("distance from CAT to WHEAT", 3, this.engine.distance("CAT", "WHEAT"));
+		assertEquals("distance from NEAT to RAT", 3, this.engine.distance("NEAT", "RAT"));
+		assertEquals("distance from CAT to HAT", 1, this.engine.distance("CAT", "HAT"));
+	}
+
+	@Test
+	public final void noPathIsEmptyAndMinusOne() {
+		assertEquals("path from CAT to KIT", new ArrayList<String>(), this.engine.path("CAT", "KIT"));
+		assertEquals("distance from CAT to KIT", -1, this.engine.distance("CAT", "KIT"));
+		assertEquals("path from CAT to CAT", new ArrayList<String>(), this.engine.path("CAT", "CAT"));
+		assertEquals("distance from CAT to CAT", -1, this.engine.distance("CAT", "CAT"));
+		assertEquals("distance from CAT to a missing word", -1, this.engine.distance("CAT", "BAT"));
+		assertEquals("path from null to CAT", new ArrayList<String>(), this.engine.path(null, "CAT"));
+	}
+
+	@Test
+	public final void followsChangesToTheGraph() {
+		this.graph.freeze();
+		assertEquals("distance from CAT to WHEAT", 3, this.engine.distance("CAT", "WHEAT"));
+		this.graph.addVertex("KITE");
+		this.graph.addEdge("KIT", "KITE");
+		this.graph.addEdge("KIT", "CAT");
+		assertEquals("distance from KITE to WHEAT", 5, this.engine.distance("KITE", "WHEAT"));
+		this.graph.removeEdge("HAT", "HEAT");
+		assertEquals("distance from KITE to WHEAT", -1, this.engine.distance("KITE", "WHEAT"));
+	}
+
+	@Test
+	public final void bidirectionalDistanceMatchesSingleSourceSearch() {
+		List<String> words = GraphBuildBenchmark.syntheticWords(3000, 13);
+		SparseGraph<String> large = new SparseGraph<>();
+		WordNeighborIndex index = new WordNeighborIndex(words);
+		for (String word : index.words())
+			large.addVertex(word);
+		index.forEachEdge(large::addEdge);
+		large.freeze();
+		ShortestPathEngine<String> paths = new ShortestPathEngine<>(large);
+		int[] distances = new int[large.vertexCount()];
+		for (int source = 0; source < large.vertexCount(); source += 97) {
+			paths.distancesFrom(source, distances);
+			for (int target = 0; target < large.vertexCount(); target++) {
+				int expected = source == target ? -1 : distances[target];
+				assertEquals(String.format("distance from %d to %d", source, target), expected, paths.distance(source, target));
+				List<String> path = paths.path(large.vertexAt(source), large.vertexAt(target));
+				assertEquals("number of words in the path", expected + 1, path.size());
+				for (int k = 1; k < path.size(); k++)
+					assertEquals("adjacency along the path", true, large.isAdjacent(path.get(k - 1), path.get(k)));
+			}
+		}
+	}
+
+	@Test
+	public final void graphProcessorAnswersQueriesOnTheWordList() {
+		GraphProcessor processor = new GraphProcessor();
+		assertEquals("number of words", 7, (int) processor.populateGraph("testWordList.txt"));
+		assertEquals("path from cat to wheat", Arrays.asList("CAT", "HAT", "HEAT", "WHEAT"), processor.getShortestPath("cat", "wheat"));
+		assertEquals("distance from cat to wheat", 3, (int) processor.getShortestDistance("cat", "wheat"));
+		assertEquals("path from cat to kit", new ArrayList<String>(), processor.getShortestPath("cat", "kit"));
+		assertEquals("distance from cat to kit", -1, (int) processor.getShortestDistance("cat", "kit"));
+		assertEquals("distance from cat to cat", -1, (int) processor.getShortestDistance("cat", "cat"));
+		// repeated queries do not collect words from earlier ones
+		assertEquals("path from rat to neat", Arrays.asList("RAT", "HAT", "HEAT", "NEAT"), processor.getShortestPath("rat", "neat"));
+	}
+}
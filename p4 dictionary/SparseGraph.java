@@ -0,0 +1,375 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A GraphADT whose memory grows with the number of edges instead of the
+ * square of the number of vertices.
+ *
+ * Every vertex gets a dense int id. While the graph is being built each
+ * vertex keeps a growable, sorted int array of its neighbors' ids. Calling
+ * freeze() packs those arrays into compressed sparse row (CSR) form: one
+ * offsets array of vertexCount + 1 entries and one neighbors array holding
+ * every vertex's sorted neighbor ids back to back. Both forms answer
+ * isAdjacent with a binary search. Changing a frozen graph unpacks it
+ * into per-vertex arrays again.
+ *
+ * Vertices are matched with equals, so equal words read separately are
+ * the same vertex. Removing a vertex moves the vertex with the highest id
+ * into its place, so ids stay dense but may change after a removal.
+ */
+public class SparseGraph<E> implements GraphADT<E> {
+    private static final int[] NO_NEIGHBORS = new int[0];
+    protected int vertexCount;
+    protected int edgeCount;
+    protected E[] vertices;
+    protected VertexIndex<E> ids;
+    // per-vertex sorted neighbor ids and their counts, null while frozen
+    protected int[][] adjacency;
+    protected int[] degree;
+    // CSR form while frozen, null otherwise
+    protected int[] offsets;
+    protected int[] neighbors;
+    // number of changes made to the graph, see getVersion
+    protected long version;
+
+    @SuppressWarnings("unchecked")
+    public SparseGraph() {
+        vertices = (E[]) (new Object[10]);
+        ids = new VertexIndex<E>(10);
+        adjacency = new int[10][];
+        degree = new int[10];
+    }
+
+    /**
+     * Add new vertex to the graph
+     *
+     * Valid argument conditions: 1. vertex should be non-null 2. vertex should not already exist in
+     * the graph
+     *
+     * @param vertex the vertex to be added
+     * @return vertex if vertex added, else return null if vertex can not be added (also if valid
+     *         conditions are violated)
+     */
+    @Override
+    public E addVertex(E vertex) {
+        if (vertex == null || ids.get(vertex) >= 0) {
+            return null;
+        }
+        thaw();
+        if (vertexCount == vertices.length) {
+            int capacity = vertices.length * 2;
+            vertices = Arrays.copyOf(vertices, capacity);
+            adjacency = Arrays.copyOf(adjacency, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+        }
+        vertices[vertexCount] = vertex;
+        adjacency[vertexCount] = NO_NEIGHBORS;
+        degree[vertexCount] = 0;
+        ids.put(vertex, vertexCount);
+        vertexCount++;
+        version++;
+        return vertex;
+    }
+
+    /**
+     * Remove the vertex and associated edge associations from the graph
+     *
+     * Valid argument conditions: 1. vertex should be non-null 2. vertex should exist in the graph
+     *
+     * @param vertex the vertex to be removed
+     * @return vertex if vertex removed, else return null if vertex and associated edges can not be
+     *         removed (also if valid conditions are violated)
+     */
+    @Override
+    public E removeVertex(E vertex) {
+        int id = idOf(vertex);
+        if (id < 0) {
+            return null;
+        }
+        thaw();
+        while (degree[id] > 0) {
+            unlink(id, adjacency[id][degree[id] - 1]);
+        }
+        int last = vertexCount - 1;
+        if (id != last) {
+            // the last vertex takes over the removed vertex's id
+            for (int k = 0; k < degree[last]; k++) {
+                int n = adjacency[last][k];
+                remove(n, last);
+                insert(n, id);
+            }
+            vertices[id] = vertices[last];
+            adjacency[id] = adjacency[last];
+            degree[id] = degree[last];
+            ids.put(vertices[id], id);
+        }
+        vertices[last] = null;
+        adjacency[last] = null;
+        degree[last] = 0;
+        ids.remove(vertex);
+        vertexCount--;
+        version++;
+        return vertex;
+    }
+
+    /**
+     * Add an edge between two vertices (edge is undirected and unweighted)
+     *
+     * Valid argument conditions: 1. both the vertices should exist in the graph 2. vertex1 should
+     * not equal vertex2
+     *
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @return true if edge added, else return false if edge can not be added (also if valid
+     *         conditions are violated)
+     */
+    @Override
+    public boolean addEdge(E vertex1, E vertex2) {
+        return addEdge(idOf(vertex1), idOf(vertex2));
+    }
+
+    /**
+     * Adds an edge between the vertices with ids id1 and id2. Like Graph,
+     * adding an edge that is already there succeeds without a change
+     *
+     * @return true if the edge is in the graph, false if an id is not a
+     *         vertex or the ids are equal
+     */
+    public boolean addEdge(int id1, int id2) {
+        if (!isValid(id1, id2)) {
+            return false;
+        }
+        if (isAdjacent(id1, id2)) {
+            return true;
+        }
+        thaw();
+        insert(id1, id2);
+        insert(id2, id1);
+        edgeCount++;
+        version++;
+        return true;
+    }
+
+    /**
+     * Remove the edge between two vertices (edge is undirected and unweighted)
+     *
+     * Valid argument conditions: 1. both the vertices should exist in the graph 2. vertex1 should
+     * not equal vertex2
+     *
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @return true if edge removed, else return false if edge can not be removed (also if valid
+     *         conditions are violated)
+     */
+    @Override
+    public boolean removeEdge(E vertex1, E vertex2) {
+        int id1 = idOf(vertex1);
+        int id2 = idOf(vertex2);
+        if (!isValid(id1, id2)) {
+            return false;
+        }
+        // like Graph, removing an edge that is not there still succeeds
+        if (isAdjacent(id1, id2)) {
+            thaw();
+            unlink(id1, id2);
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the two vertices are adjacent
+     *
+     * Valid argument conditions: 1. both the vertices should exist in the graph 2. vertex1 should
+     * not equal vertex2
+     *
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @return true if both the vertices have an edge with each other, else return false if vertex1
+     *         and vertex2 are not connected (also if valid conditions are violated)
+     */
+    @Override
+    public boolean isAdjacent(E vertex1, E vertex2) {
+        return isAdjacent(idOf(vertex1), idOf(vertex2));
+    }
+
+    /**
+     * @return true if the vertices with ids id1 and id2 share an edge,
+     *         found by a binary search of the smaller neighbor list
+     */
+    public boolean isAdjacent(int id1, int id2) {
+        if (!isValid(id1, id2)) {
+            return false;
+        }
+        if (degree(id1) > degree(id2)) {
+            int swap = id1;
+            id1 = id2;
+            id2 = swap;
+        }
+        if (offsets != null) {
+            return Arrays.binarySearch(neighbors, offsets[id1], offsets[id1 + 1], id2) >= 0;
+        }
+        return Arrays.binarySearch(adjacency[id1], 0, degree[id1], id2) >= 0;
+    }
+
+    /**
+     * Get all the neighbor vertices of a vertex
+     *
+     * Valid argument conditions: 1. vertex is not null 2. vertex exists
+     *
+     * @param vertex the vertex
+     * @return an iterable for all the immediate connected neighbor vertices
+     */
+    @Override
+    public Iterable<E> getNeighbors(E vertex) {
+        int id = idOf(vertex);
+        if (id < 0) {
+            return null;
+        }
+        List<E> list = new ArrayList<E>(degree(id));
+        for (int k = 0; k < degree(id); k++) {
+            list.add(vertices[neighbor(id, k)]);
+        }
+        return list;
+    }
+
+    /**
+     * Get all the vertices in the graph
+     *
+     * @return an iterable for all the vertices
+     */
+    @Override
+    public Iterable<E> getAllVertices() {
+        List<E> list = new ArrayList<E>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            list.add(vertices[i]);
+        }
+        return list;
+    }
+
+    /**
+     * @return the id of vertex, or -1 if it is null or not in the graph
+     */
+    public int idOf(E vertex) {
+        return ids.get(vertex);
+    }
+
+    /**
+     * @return the vertex with the given id
+     */
+    public E vertexAt(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * @return number of neighbors of the vertex with the given id
+     */
+    public int degree(int id) {
+        return offsets != null ? offsets[id + 1] - offsets[id] : degree[id];
+    }
+
+    /**
+     * @return id of the k-th neighbor of the vertex with the given id, neighbors are in id order
+     */
+    public int neighbor(int id, int k) {
+        return offsets != null ? neighbors[offsets[id] + k] : adjacency[id][k];
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public boolean isFrozen() {
+        return offsets != null;
+    }
+
+    /**
+     * @return a number that changes every time a vertex or edge is added or removed, so results
+     *         computed from the graph can be checked against the graph they came from. Freezing
+     *         the graph does not change it
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Packs the neighbor lists into CSR form for reading. The per-vertex
+     * arrays are dropped, so the adjacency of a frozen graph takes one int
+     * per vertex and two per edge
+     */
+    public void freeze() {
+        if (offsets != null) {
+            return;
+        }
+        offsets = new int[vertexCount + 1];
+        neighbors = new int[2 * edgeCount];
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] = offsets[i] + degree[i];
+            System.arraycopy(adjacency[i], 0, neighbors, offsets[i], degree[i]);
+        }
+        adjacency = null;
+        degree = null;
+    }
+
+    /**
+     * Unpacks a frozen graph into per-vertex arrays so it can be changed
+     */
+    protected void thaw() {
+        if (offsets == null) {
+            return;
+        }
+        adjacency = new int[vertices.length][];
+        degree = new int[vertices.length];
+        for (int i = 0; i < vertexCount; i++) {
+            degree[i] = offsets[i + 1] - offsets[i];
+            adjacency[i] = degree[i] == 0 ? NO_NEIGHBORS : Arrays.copyOfRange(neighbors, offsets[i], offsets[i + 1]);
+        }
+        offsets = null;
+        neighbors = null;
+    }
+
+    private boolean isValid(int id1, int id2) {
+        return id1 >= 0 && id2 >= 0 && id1 < vertexCount && id2 < vertexCount && id1 != id2;
+    }
+
+    /**
+     * removes the edge between id1 and id2, which must exist
+     */
+    private void unlink(int id1, int id2) {
+        remove(id1, id2);
+        remove(id2, id1);
+        edgeCount--;
+        version++;
+    }
+
+    /**
+     * adds id to the sorted neighbor array of vertex, growing it if it is full
+     */
+    private void insert(int vertex, int id) {
+        int[] list = adjacency[vertex];
+        int d = degree[vertex];
+        int pos = -Arrays.binarySearch(list, 0, d, id) - 1;
+        if (d == list.length) {
+            list = Arrays.copyOf(list, Math.max(4, d * 2));
+            adjacency[vertex] = list;
+        }
+        System.arraycopy(list, pos, list, pos + 1, d - pos);
+        list[pos] = id;
+        degree[vertex] = d + 1;
+    }
+
+    /**
+     * takes id out of the sorted neighbor array of vertex
+     */
+    private void remove(int vertex, int id) {
+        int[] list = adjacency[vertex];
+        int d = degree[vertex];
+        int pos = Arrays.binarySearch(list, 0, d, id);
+        System.arraycopy(list, pos + 1, list, pos, d - pos - 1);
+        degree[vertex] = d - 1;
+    }
+}
@@ -0,0 +1,139 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit test class to test class @see SparseGraph that implements @see GraphADT interface
+ */
+public class SparseGraphTest {
+
+	private SparseGraph<String> graph;
+
+	@Before
+	public void setUp() throws Exception {
+		this.graph = new SparseGraph<>();
+		for (String vertex : new String[] {"at", "it", "cat", "hat", "hot", "rat", "heat", "neat"})
+			this.graph.addVertex(vertex);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.graph = null;
+	}
+
+	private static int count(Iterable<String> iterable) {
+		int count = 0;
+		for (String itr : iterable)
+			count++;
+		return count;
+	}
+
+	@Test
+	public final void addVertexUsesEqualsForDuplicates() {
+		String copy = new String("cat");
+		assertEquals("return value when adding a vertex equal to an existing one", null, this.graph.addVertex(copy));
+		assertEquals("number of vertices in the graph", 8, count(this.graph.getAllVertices()));
+		assertEquals("vertex found by an equal word", true, this.graph.idOf(copy) >= 0);
+	}
+
+	@Test
+	public final void addVertexGrowsPastInitialCapacity() {
+		for (int i = 0; i < 100; i++)
+			assertEquals("return value when adding a new vertex", "w" + i, this.graph.addVertex("w" + i));
+		assertEquals("number of vertices in the graph", 108, this.graph.vertexCount());
+		assertEquals("vertex with the last id", "w99", this.graph.vertexAt(107));
+	}
+
+	@Test
+	public final void addEdgeIsUndirectedAndCountedOnce() {
+		assertEquals("return value for a new edge", true, this.graph.addEdge("cat", "hat"));
+		assertEquals("return value for an existing edge", true, this.graph.addEdge("hat", "cat"));
+		assertEquals("return value if vertex1 equals vertex2", false, this.graph.addEdge("cat", "cat"));
+		assertEquals("return value if a vertex does not exist", false, this.graph.addEdge("cat", "bat"));
+		assertEquals("number of edges", 1, this.graph.edgeCount());
+		assertEquals("cat adjacent to hat", true, this.graph.isAdjacent("cat", "hat"));
+		assertEquals("hat adjacent to cat", true, this.graph.isAdjacent("hat", "cat"));
+		assertEquals("cat adjacent to rat", false, this.graph.isAdjacent("cat", "rat"));
+	}
+
+	@Test
+	public final void neighborsAreKeptInIdOrder() {
+		this.graph.addEdge("hat", "neat");
+		this.graph.addEdge("hat", "at");
+		this.graph.addEdge("hat", "heat");
+		this.graph.addEdge("hat", "cat");
+		int hat = this.graph.idOf("hat");
+		assertEquals("degree of hat", 4, this.graph.degree(hat));
+		for (int k = 1; k < this.graph.degree(hat); k++)
+			assertEquals("neighbor ids in order", true, this.graph.neighbor(hat, k - 1) < this.graph.neighbor(hat, k));
+		List<String> expected = new ArrayList<>();
+		expected.add("at");
+		expected.add("cat");
+		expected.add("heat");
+		expected.add("neat");
+		assertEquals("neighbors of hat", expected, this.graph.getNeighbors("hat"));
+	}
+
+	@Test
+	public final void frozenGraphAnswersTheSameAsUnfrozen() {
+		this.graph.addEdge("cat", "hat");
+		this.graph.addEdge("hat", "heat");
+		this.graph.addEdge("heat", "neat");
+		this.graph.addEdge("at", "it");
+		this.graph.freeze();
+		assertEquals("graph is frozen", true, this.graph.isFrozen());
+		assertEquals("cat adjacent to hat", true, this.graph.isAdjacent("cat", "hat"));
+		assertEquals("neat adjacent to heat", true, this.graph.isAdjacent("neat", "heat"));
+		assertEquals("cat adjacent to neat", false, this.graph.isAdjacent("cat", "neat"));
+		assertEquals("number of neighbors of heat", 2, count(this.graph.getNeighbors("heat")));
+		assertEquals("number of neighbors of hot", 0, count(this.graph.getNeighbors("hot")));
+		assertEquals("number of edges", 4, this.graph.edgeCount());
+	}
+
+	@Test
+	public final void changingAFrozenGraphUnfreezesIt() {
+		this.graph.addEdge("cat", "hat");
+		this.graph.freeze();
+		assertEquals("return value for a new edge", true, this.graph.addEdge("cat", "rat"));
+		assertEquals("graph is frozen", false, this.graph.isFrozen());
+		assertEquals("cat adjacent to hat", true, this.graph.isAdjacent("cat", "hat"));
+		assertEquals("cat adjacent to rat", true, this.graph.isAdjacent("cat", "rat"));
+		this.graph.freeze();
+		assertEquals("return value when removing an edge", true, this.graph.removeEdge("hat", "cat"));
+		assertEquals("cat adjacent to hat", false, this.graph.isAdjacent("cat", "hat"));
+		assertEquals("number of edges", 1, this.graph.edgeCount());
+	}
+
+	@Test
+	public final void removeVertexRemovesItsEdgesAndKeepsIdsDense() {
+		this.graph.addEdge("cat", "hat");
+		this.graph.addEdge("cat", "rat");
+		this.graph.addEdge("neat", "heat");
+		this.graph.addEdge("neat", "hat");
+		assertEquals("return value when removing a vertex", "cat", this.graph.removeVertex("cat"));
+		assertEquals("return value when removing a missing vertex", null, this.graph.removeVertex("cat"));
+		assertEquals("return value when removing null", null, this.graph.removeVertex(null));
+		assertEquals("number of vertices in the graph", 7, this.graph.vertexCount());
+		assertEquals("number of edges", 2, this.graph.edgeCount());
+		assertEquals("number of neighbors of hat", 1, count(this.graph.getNeighbors("hat")));
+		// neat had the highest id and moved into cat's place
+		int neat = this.graph.idOf("neat");
+		assertEquals("id of neat", 2, neat);
+		assertEquals("vertex at id 2", "neat", this.graph.vertexAt(neat));
+		assertEquals("neat adjacent to heat", true, this.graph.isAdjacent("neat", "heat"));
+		assertEquals("hat adjacent to neat", true, this.graph.isAdjacent("hat", "neat"));
+		for (int id = 0; id < this.graph.vertexCount(); id++)
+			assertEquals("id of the vertex at each id", id, this.graph.idOf(this.graph.vertexAt(id)));
+	}
+
+	@Test
+	public final void getNeighborsOfMissingVertexIsNull() {
+		assertEquals("neighbors of a missing vertex", null, this.graph.getNeighbors("bat"));
+		assertEquals("neighbors of null", null, this.graph.getNeighbors(null));
+	}
+}
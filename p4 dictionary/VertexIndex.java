@@ -0,0 +1,156 @@
+import java.util.Arrays;
+
+/**
+ * Maps the vertices of a graph to their int ids in constant expected time.
+ *
+ * Vertices are compared with equals, so two equal words read separately
+ * map to the same id. The map uses open addressing with linear probing
+ * over two parallel arrays, one of vertices and one of ids, so an entry
+ * costs no object of its own. The table is kept at most half full and its
+ * length is a power of two; the slot of a vertex is picked by multiplying
+ * its hash code by 2^32 / golden ratio and keeping the high bits, which
+ * spreads out hash codes that only differ in their low bits.
+ */
+public class VertexIndex<E> {
+    private static final int NONE = -1;
+    private Object[] keys;
+    private int[] ids;
+    private int size;
+    // 32 - log2(keys.length), the shift that turns a product into a slot
+    private int shift;
+
+    public VertexIndex() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of vertices the index holds without growing
+     */
+    public VertexIndex(int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2 && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * @param vertex the vertex to look up, may be null
+     * @return the id of vertex, or -1 if it is null or not in the index
+     */
+    public int get(Object vertex) {
+        if (vertex == null) {
+            return NONE;
+        }
+        Object[] keys = this.keys;
+        int mask = keys.length - 1;
+        for (int i = slot(vertex); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(vertex)) {
+                return ids[i];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Maps vertex to id, replacing the id it had
+     *
+     * @param vertex the vertex, non-null
+     * @param id the id, non-negative
+     * @return the previous id of vertex, or -1 if it was not in the index
+     */
+    public int put(E vertex, int id) {
+        if (vertex == null) {
+            throw new NullPointerException();
+        }
+        int mask = keys.length - 1;
+        int i = slot(vertex);
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(vertex)) {
+                int previous = ids[i];
+                ids[i] = id;
+                return previous;
+            }
+        }
+        keys[i] = vertex;
+        ids[i] = id;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return NONE;
+    }
+
+    /**
+     * Removes vertex from the index. The entries after it in its probe run
+     * are shifted back, so lookups never need to skip deleted slots
+     *
+     * @param vertex the vertex to remove, may be null
+     * @return the id of vertex, or -1 if it was not in the index
+     */
+    public int remove(Object vertex) {
+        if (vertex == null) {
+            return NONE;
+        }
+        int mask = keys.length - 1;
+        int i = slot(vertex);
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(vertex)) {
+                break;
+            }
+        }
+        if (keys[i] == null) {
+            return NONE;
+        }
+        int id = ids[i];
+        // close the gap: move back every later entry of the run whose home
+        // slot is not between the gap and its current slot
+        int gap = i;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                ids[gap] = ids[j];
+                gap = j;
+            }
+        }
+        keys[gap] = null;
+        size--;
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private int slot(Object vertex) {
+        return (vertex.hashCode() * 0x9e3779b9) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        ids = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldIds = ids;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldKeys[k] != null) {
+                int i = slot(oldKeys[k]);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                ids[i] = oldIds[k];
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Junit test class to test class @see VertexIndex
+ */
+public class VertexIndexTest {
+
+	private VertexIndex<String> index;
+
+	@Before
+	public void setUp() throws Exception {
+		this.index = new VertexIndex<>();
+	}
+
+	@Test
+	public final void getUsesEquals() {
+		assertEquals("previous id of a new vertex", -1, this.index.put("cat", 0));
+		assertEquals("id of an equal vertex", 0, this.index.get(new String("cat")));
+		assertEquals("id of a missing vertex", -1, this.index.get("hat"));
+		assertEquals("id of null", -1, this.index.get(null));
+		assertEquals("previous id of an existing vertex", 0, this.index.put(new String("cat"), 5));
+		assertEquals("id after it was replaced", 5, this.index.get("cat"));
+		assertEquals("number of vertices", 1, this.index.size());
+	}
+
+	@Test
+	public final void matchesHashMapUnderRandomPutsAndRemoves() {
+		Map<String, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int op = 0; op < 200000; op++) {
+			String word = "w" + random.nextInt(3000);
+			if (random.nextInt(3) == 0) {
+				Integer id = expected.remove(word);
+				assertEquals("id returned by remove of " + word, id == null ? -1 : id, this.index.remove(word));
+			} else {
+				Integer id = expected.put(word, op);
+				assertEquals("id returned by put of " + word, id == null ? -1 : id, this.index.put(word, op));
+			}
+		}
+		assertEquals("number of vertices", expected.size(), this.index.size());
+		for (int i = 0; i < 3000; i++) {
+			Integer id = expected.get("w" + i);
+			assertEquals("id of w" + i, id == null ? -1 : id, this.index.get("w" + i));
+		}
+	}
+
+	@Test
+	public final void clearRemovesEveryVertex() {
+		for (int i = 0; i < 100; i++)
+			this.index.put("w" + i, i);
+		this.index.clear();
+		assertEquals("number of vertices", 0, this.index.size());
+		assertEquals("id of a cleared vertex", -1, this.index.get("w7"));
+	}
+}
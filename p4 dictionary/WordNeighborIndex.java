@@ -0,0 +1,287 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds every pair of adjacent words in a dictionary without comparing
+ * every word to every other word.
+ *
+ * Two words of the same length that differ in one char share a
+ * substitution signature: the word with that char replaced by a wildcard,
+ * so CAT, HAT and RAT all have the signature ?AT. Each word is put in the
+ * bucket of each of its signatures, and only words in the same bucket are
+ * compared. Two words whose lengths differ by one are adjacent when the
+ * shorter one is a deletion key of the longer one: the longer word with
+ * one char deleted, so HEAT has the deletion key HAT. Each deletion key is
+ * looked up among the words themselves. A dictionary of V words of length
+ * L is indexed with about 2 * V * L string keys, so building the edges
+ * takes time close to linear in V instead of V * V calls to
+ * {@link WordProcessor#isAdjacent(String, String)}.
+ *
+ * Each edge belongs to one of its words, so the words can be split into
+ * ranges whose edges are found in parallel by {@link #edges(ForkJoinPool)}
+ * and put back together in the order of the sequential
+ * {@link #forEachEdge(EdgeConsumer)}. The index is not changed after it is
+ * built, so any number of threads can read it.
+ *
+ * Words are compared ignoring case like WordProcessor.isAdjacent, and
+ * words that are equal are indexed once. Every word gets an int id, the
+ * order in which it was first seen, which is also the id it gets when the
+ * words are added to a Graph or SparseGraph in that order.
+ */
+public class WordNeighborIndex {
+
+	/**
+	 * Receives the edges found by the index
+	 */
+	public interface EdgeConsumer {
+		/**
+		 * @param id1 id of the first word
+		 * @param id2 id of the second word, always greater than id1
+		 */
+		void accept(int id1, int id2);
+	}
+
+	// marks the changed char of a substitution signature
+	private static final char WILDCARD = '?';
+	// number of words whose edges one parallel task finds
+	private static final int WORDS_PER_TASK = 1024;
+	private static final int[] NO_IDS = new int[0];
+
+	private final List<String> words;
+	// words with each char folded to one case
+	private final List<String> folded;
+	// ids of the words with each substitution signature
+	private final Map<String, int[]> substitutions;
+	// ids of the words with each folded spelling, looked up by deletion keys
+	private final Map<String, int[]> spellings;
+
+	/**
+	 * Indexes the distinct words of the dictionary
+	 *
+	 * @param dictionary the words, in the order their ids are given
+	 */
+	public WordNeighborIndex(Iterable<String> dictionary) {
+		words = new ArrayList<String>();
+		folded = new ArrayList<String>();
+		substitutions = new HashMap<String, int[]>();
+		spellings = new HashMap<String, int[]>();
+		VertexIndex<String> seen = new VertexIndex<String>();
+		for (String word : dictionary) {
+			if (word == null || seen.get(word) >= 0)
+				continue;
+			int id = words.size();
+			seen.put(word, id);
+			String fold = fold(word);
+			words.add(word);
+			folded.add(fold);
+			add(spellings, fold, id);
+			char[] signature = fold.toCharArray();
+			for (int i = 0; i < signature.length; i++) {
+				char c = signature[i];
+				signature[i] = WILDCARD;
+				add(substitutions, new String(signature), id);
+				signature[i] = c;
+			}
+		}
+	}
+
+	/**
+	 * @return number of distinct words in the index
+	 */
+	public int size() {
+		return words.size();
+	}
+
+	/**
+	 * @return the word with the given id
+	 */
+	public String word(int id) {
+		return words.get(id);
+	}
+
+	/**
+	 * @return the distinct words in id order
+	 */
+	public List<String> words() {
+		return words;
+	}
+
+	/**
+	 * Passes every pair of adjacent words to edges exactly once, in the
+	 * order of the id of the word the edge belongs to. Adjacency is the same
+	 * as WordProcessor.isAdjacent(word1, word2) || WordProcessor.isAdjacent(word2, word1)
+	 *
+	 * @param edges receives the ids of each pair of adjacent words
+	 */
+	public void forEachEdge(EdgeConsumer edges) {
+		for (int id = 0; id < words.size(); id++)
+			edgesOf(id, edges);
+	}
+
+	/**
+	 * Finds the edges with the words split into ranges of WORDS_PER_TASK
+	 * words, one task per range, and joins the edges of the ranges in id
+	 * order. The result is the same as collecting forEachEdge
+	 *
+	 * @param pool runs the tasks
+	 * @return the ids of each pair of adjacent words, the ids of the k-th
+	 *         edge at indexes 2k and 2k + 1
+	 */
+	public int[] edges(ForkJoinPool pool) {
+		int[][] parts = new int[(words.size() + WORDS_PER_TASK - 1) / WORDS_PER_TASK][];
+		if (parts.length > 0)
+			pool.invoke(new EdgeTask(0, parts.length, parts));
+		int length = 0;
+		for (int[] part : parts)
+			length += part[0];
+		int[] edges = new int[length];
+		int offset = 0;
+		for (int[] part : parts) {
+			System.arraycopy(part, 1, edges, offset, part[0]);
+			offset += part[0];
+		}
+		return edges;
+	}
+
+	/**
+	 * @return number of pairs of adjacent words
+	 */
+	public long edgeCount() {
+		long[] count = new long[1];
+		forEachEdge((id1, id2) -> count[0]++);
+		return count[0];
+	}
+
+	/**
+	 * Passes the edges that belong to a word to edges. A substitution edge
+	 * belongs to the word with the smaller id, and is found in the bucket
+	 * whose wildcard is at the char where the words differ, or at the first
+	 * char for words equal ignoring case, which share every bucket. Those
+	 * pairs are still checked with WordProcessor.isAdjacent, since it only
+	 * accepts a replacement by a letter and a word may hold a literal
+	 * wildcard char. An insertion or deletion edge belongs to the longer
+	 * word and is found by looking up its deletion keys. Deleting either of
+	 * two equal neighboring chars gives the same key, so only the first of a
+	 * run is deleted
+	 */
+	private void edgesOf(int id, EdgeConsumer edges) {
+		String fold = folded.get(id);
+		String word = words.get(id);
+		char[] signature = fold.toCharArray();
+		for (int i = 0; i < signature.length; i++) {
+			signature[i] = WILDCARD;
+			int[] bucket = substitutions.get(new String(signature));
+			signature[i] = fold.charAt(i);
+			for (int k = 1; k <= bucket[0]; k++) {
+				int other = bucket[k];
+				if (other <= id || Math.max(differingChar(fold, folded.get(other)), 0) != i)
+					continue;
+				String otherWord = words.get(other);
+				if (WordProcessor.isAdjacent(word, otherWord) || WordProcessor.isAdjacent(otherWord, word))
+					edges.accept(id, other);
+			}
+		}
+		StringBuilder key = new StringBuilder(fold.length());
+		for (int i = 0; i < fold.length(); i++) {
+			if (i > 0 && fold.charAt(i) == fold.charAt(i - 1))
+				continue;
+			key.setLength(0);
+			key.append(fold, 0, i).append(fold, i + 1, fold.length());
+			int[] shorter = spellings.getOrDefault(key.toString(), NO_IDS);
+			for (int k = 1; k < shorter.length && k <= shorter[0]; k++)
+				edges.accept(Math.min(id, shorter[k]), Math.max(id, shorter[k]));
+		}
+	}
+
+	/**
+	 * @return index of the only char where two words of the same length
+	 *         differ, -1 if they are equal, -2 if they differ more than once
+	 */
+	private static int differingChar(String word1, String word2) {
+		int position = -1;
+		for (int i = 0; i < word1.length(); i++) {
+			if (word1.charAt(i) != word2.charAt(i)) {
+				if (position >= 0)
+					return -2;
+				position = i;
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * @return word with each char folded the way String.equalsIgnoreCase
+	 *         compares chars, so words equal ignoring case fold the same
+	 */
+	static String fold(String word) {
+		char[] chars = word.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		return new String(chars);
+	}
+
+	/**
+	 * appends id to the bucket of key, unless it was just added there. A
+	 * bucket is an int array whose first entry is the number of ids after it
+	 */
+	private static void add(Map<String, int[]> buckets, String key, int id) {
+		int[] bucket = buckets.get(key);
+		if (bucket != null && bucket[bucket[0]] == id) {
+			// a word with a literal wildcard char can have one signature twice
+			return;
+		}
+		if (bucket == null) {
+			bucket = new int[2];
+			buckets.put(key, bucket);
+		} else if (bucket[0] + 1 == bucket.length) {
+			bucket = Arrays.copyOf(bucket, bucket.length * 2);
+			buckets.put(key, bucket);
+		}
+		bucket[++bucket[0]] = id;
+	}
+
+	/**
+	 * Finds the edges of the ranges from first to last - 1, splitting them
+	 * in halves until one range is left. The edges of range r go to
+	 * parts[r], an int array whose first entry is the number of ids after
+	 * it, so each task writes its own slot
+	 */
+	private final class EdgeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int first;
+		private final int last;
+		private final int[][] parts;
+
+		EdgeTask(int first, int last, int[][] parts) {
+			this.first = first;
+			this.last = last;
+			this.parts = parts;
+		}
+
+		@Override
+		protected void compute() {
+			if (last - first > 1) {
+				int middle = (first + last) >>> 1;
+				invokeAll(new EdgeTask(first, middle, parts), new EdgeTask(middle, last, parts));
+				return;
+			}
+			int[][] part = {new int[64]};
+			int end = Math.min(words.size(), (first + 1) * WORDS_PER_TASK);
+			for (int id = first * WORDS_PER_TASK; id < end; id++) {
+				edgesOf(id, (id1, id2) -> {
+					int[] edges = part[0];
+					if (edges[0] + 2 >= edges.length)
+						part[0] = edges = Arrays.copyOf(edges, edges.length * 2);
+					edges[++edges[0]] = id1;
+					edges[++edges[0]] = id2;
+				});
+			}
+			parts[first] = part[0];
+		}
+	}
+}
@@ -0,0 +1,91 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Junit test class to test class @see WordNeighborIndex against comparing every pair of words
+ * with @see WordProcessor#isAdjacent(String, String)
+ */
+public class WordNeighborIndexTest {
+
+	private static Set<String> allPairs(List<String> words) {
+		Set<String> edges = new HashSet<>();
+		for (int i = 0; i < words.size(); i++)
+			for (int j = i + 1; j < words.size(); j++)
+				if (WordProcessor.isAdjacent(words.get(i), words.get(j))
+						|| WordProcessor.isAdjacent(words.get(j), words.get(i)))
+					edges.add(i + "," + j);
+		return edges;
+	}
+
+	private static List<String> indexed(WordNeighborIndex index) {
+		List<String> edges = new ArrayList<>();
+		index.forEachEdge((id1, id2) -> edges.add(id1 + "," + id2));
+		return edges;
+	}
+
+	private static void assertSameEdges(List<String> words) {
+		WordNeighborIndex index = new WordNeighborIndex(words);
+		assertEquals("words in the index", words, index.words());
+		List<String> edges = indexed(index);
+		assertEquals("each edge reported once", edges.size(), new HashSet<>(edges).size());
+		assertEquals("edges of the index", allPairs(words), new HashSet<>(edges));
+	}
+
+	@Test
+	public final void findsSubstitutionsInsertionsAndDeletions() {
+		List<String> words = Arrays.asList("CAT", "RAT", "HAT", "NEAT", "HEAT", "WHEAT", "KIT", "AT", "IT", "HEAT S");
+		assertSameEdges(words);
+		WordNeighborIndex index = new WordNeighborIndex(words);
+		assertEquals("edges of the index", 11, index.edgeCount());
+	}
+
+	@Test
+	public final void repeatedLettersAreOneDeletion() {
+		assertSameEdges(Arrays.asList("BOOK", "BOK", "BOOKK", "BOKK", "OOO", "OO", "O", ""));
+	}
+
+	@Test
+	public final void matchesLegacyCheckForCaseAndNonLetters() {
+		assertSameEdges(Arrays.asList("cat", "CAT", "Cat", "C-T", "C?T", "??T", "A?T", "A??", "1AT", "c t", "CA"));
+	}
+
+	@Test
+	public final void equalWordsAreIndexedOnce() {
+		WordNeighborIndex index = new WordNeighborIndex(Arrays.asList("CAT", new String("CAT"), "HAT", "CAT"));
+		assertEquals("number of words", 2, index.size());
+		assertEquals("word with id 1", "HAT", index.word(1));
+		assertEquals("edges of the index", 1, index.edgeCount());
+	}
+
+	@Test
+	public final void matchesAllPairsOnSyntheticDictionary() {
+		assertSameEdges(GraphBuildBenchmark.syntheticWords(800, 7));
+	}
+
+	@Test
+	public final void parallelEdgesMatchSequentialOrder() {
+		WordNeighborIndex index = new WordNeighborIndex(GraphBuildBenchmark.syntheticWords(5000, 9));
+		List<String> edges = indexed(index);
+		for (int threads = 1; threads <= 4; threads += 3) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				int[] parallel = index.edges(pool);
+				List<String> pairs = new ArrayList<>();
+				for (int k = 0; k < parallel.length; k += 2)
+					pairs.add(parallel[k] + "," + parallel[k + 1]);
+				assertEquals("edges found with " + threads + " threads", edges, pairs);
+			} finally {
+				pool.shutdown();
+			}
+		}
+		assertEquals("edges of an empty index", 0, new WordNeighborIndex(new ArrayList<String>()).edges(ForkJoinPool.commonPool()).length);
+	}
+}
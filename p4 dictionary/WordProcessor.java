@@ -2,7 +2,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.stream.Stream;
-import java.lang.StringBuilder;
 
 /**
  * This class contains some utility helper methods
@@ -89,38 +88,7 @@ public class WordProcessor {
 	 * @return true if word1 and word2 are adjacent else false
 	 */
 	public static boolean isAdjacent(String word1, String word2) {
-		if(word1.equals(word2))
-			return false;
-		StringBuilder temp;
-		char[] alphabet = {'A','B','C','D','E','F','G','H','I','J','K','L','M','N','O','P','Q','R','S','T','U','V','W','X','Y','Z'};
-		
-		// replacement
-		for(int i = 0; i < word1.length(); i++) {
-			temp = new StringBuilder(word1);
-			for(int j = 0; j < alphabet.length; j++) {
-				temp.setCharAt(i, alphabet[j]);
-				if(temp.toString().equalsIgnoreCase(word2))
-					return true;
-			}
-		}
-		
-		// addition
-		for(int i = 0; i <= word1.length(); i++) {
-			for(int j = 0; j < alphabet.length; j++) {
-				temp = new StringBuilder(word1);
-				temp.insert(i, alphabet[j]);
-				if(temp.toString().equalsIgnoreCase(word2))
-					return true;
-			}
-		}
-		
-		// deletion
-		for(int i = 0; i < word1.length(); i++) {
-			temp = new StringBuilder(word1);
-			temp.deleteCharAt(i);
-			if(temp.toString().equalsIgnoreCase(word2))
-				return true;
-		}
-		return false;
+		// one pass over both words, see EditDistance for the legacy rules it keeps
+		return EditDistance.isAdjacent(word1, word2);
 	}
 }